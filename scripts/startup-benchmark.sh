@@ -0,0 +1,83 @@
+#!/usr/bin/env bash
+#
+# Measures startup time and resident memory of the Comics API.
+#
+# Builds the jar with the 'startup' Maven profile, explodes it, trains an
+# AppCDS archive on one run and then starts the application RUNS times with
+# and without the archive, recording time-to-healthy and RSS once healthy.
+# CDS only accepts jars (or empty directories) on the classpath, so
+# BOOT-INF/classes is repackaged into a jar and every run uses that same
+# jar-only classpath.
+#
+# Usage: scripts/startup-benchmark.sh [runs]   (results in target/startup/results.csv)
+
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${PORT:-8089}"
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+WORK="$ROOT/target/startup"
+APP="$WORK/exploded"
+CLASSLIST="$WORK/classes.lst"
+ARCHIVE="$WORK/comics-api.jsa"
+RESULTS="$WORK/results.csv"
+MAIN_CLASS="com.dio.comicsapi.ComicsApiApplication"
+HEALTH_URL="http://localhost:$PORT/actuator/health"
+JVM_OPTS=(-XX:TieredStopAtLevel=1 -Dserver.port="$PORT" -Dspring.profiles.active=startup)
+
+cd "$ROOT"
+sh ./mvnw -B -q -Pstartup -DskipTests package
+
+rm -rf "$WORK" && mkdir -p "$APP"
+(cd "$APP" && jar -xf "$ROOT"/target/comics-api-*.jar)
+jar -cf "$WORK/comics-api-classes.jar" -C "$APP/BOOT-INF/classes" .
+CLASSPATH="$WORK/comics-api-classes.jar:$(ls "$APP"/BOOT-INF/lib/*.jar | paste -sd: -)"
+
+# Call directly and read $! afterwards: backgrounding inside $(...) would make the JVM
+# a child of the subshell, and stop_app could not wait for it to exit.
+start_app() {
+	java "${JVM_OPTS[@]}" "$@" -cp "$CLASSPATH" "$MAIN_CLASS" > "$WORK/app.log" 2>&1 &
+}
+
+wait_healthy() {
+	until curl -sf "$HEALTH_URL" > /dev/null; do
+		sleep 0.05
+	done
+}
+
+# Returns only once the JVM has exited, so the port is free and the class list is complete.
+stop_app() {
+	kill "$1"
+	wait "$1" || true
+}
+
+# Training run: record the classes loaded up to a healthy application, then dump the archive.
+start_app -Xshare:off -XX:DumpLoadedClassList="$CLASSLIST"
+pid=$!
+wait_healthy
+stop_app "$pid"
+java -Xshare:dump -XX:SharedClassListFile="$CLASSLIST" -XX:SharedArchiveFile="$ARCHIVE" -cp "$CLASSPATH" > "$WORK/dump.log"
+test -s "$ARCHIVE"
+
+measure() {
+	local mode="$1"
+	shift
+	for run in $(seq 1 "$RUNS"); do
+		local start end pid rss
+		start=$(date +%s%N)
+		start_app "$@"
+		pid=$!
+		wait_healthy
+		end=$(date +%s%N)
+		rss=$(awk '/VmRSS/ {print $2}' "/proc/$pid/status")
+		stop_app "$pid"
+		echo "$mode,$run,$(( (end - start) / 1000000 )),$rss" >> "$RESULTS"
+	done
+}
+
+echo "mode,run,time_to_healthy_ms,rss_kb" > "$RESULTS"
+measure baseline -Xshare:auto
+measure appcds -Xshare:auto -XX:SharedArchiveFile="$ARCHIVE"
+
+awk -F, 'NR > 1 { time[$1] += $3; rss[$1] += $4; runs[$1]++ }
+	END { for (mode in time) printf "%-8s %6.0f ms %8.0f kB RSS\n", mode, time[mode] / runs[mode], rss[mode] / runs[mode] }' "$RESULTS"
@@ -0,0 +1,113 @@
+package com.dio.comicsapi.index;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.dio.comicsapi.entity.Comic;
+import com.dio.comicsapi.enums.Publisher;
+
+// mvn -Pbenchmark test-compile exec:exec
+// The entity side keeps every Comic in a HashMap<Long, Comic>, the cheapest form the entity path can take
+// (a warm persistence context or second-level cache hit still costs more), so the gap is a lower bound.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class ComicStockIndexBenchmark {
+
+	private static final int LOOKUPS = 4096;
+	
+	@Param("10000000")
+	private int comics;
+	
+	private ComicStockIndex stockIndex;
+	
+	private Map<Long, Comic> entities;
+	
+	private long[] lookupIds;
+	
+	@Setup
+	public void setUp() {
+		Publisher[] publishers = Publisher.values();
+		stockIndex = new ComicStockIndex(comics);
+		entities = new HashMap<>(comics * 2);
+		for (long id = 1; id <= comics; id++) {
+			Publisher publisher = publishers[(int) (id % publishers.length)];
+			stockIndex.put(id, (int) (id % 50), 100, publisher.ordinal());
+			entities.put(id, new Comic(id, "Comic #" + id, "Author", 100, (int) (id % 50), publisher));
+		}
+		// One lookup in ten misses, like verifyIfExist on stale ids.
+		SplittableRandom random = new SplittableRandom(42);
+		lookupIds = new long[LOOKUPS];
+		for (int i = 0; i < LOOKUPS; i++) {
+			lookupIds[i] = random.nextInt(10) == 0 ? comics + 1 + random.nextInt(comics) : 1 + random.nextInt(comics);
+		}
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(LOOKUPS)
+	public long primitiveIndexStock() {
+		long stock = 0;
+		for (long id : lookupIds) {
+			long quantity = stockIndex.quantity(id);
+			if (quantity != ComicStockIndex.ABSENT) {
+				stock += quantity;
+			}
+		}
+		return stock;
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(LOOKUPS)
+	public long entityMapStock() {
+		long stock = 0;
+		for (long id : lookupIds) {
+			Comic comic = entities.get(id);
+			if (comic != null) {
+				stock += comic.getQuantity();
+			}
+		}
+		return stock;
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(LOOKUPS)
+	public int primitiveIndexExists() {
+		int found = 0;
+		for (long id : lookupIds) {
+			if (stockIndex.contains(id)) {
+				found++;
+			}
+		}
+		return found;
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(LOOKUPS)
+	public int entityMapExists() {
+		int found = 0;
+		for (long id : lookupIds) {
+			if (entities.containsKey(id)) {
+				found++;
+			}
+		}
+		return found;
+	}
+}
@@ -0,0 +1,34 @@
+package com.dio.comicsapi.bulkimport;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import javax.validation.Validator;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.dio.comicsapi.index.ComicIdIndex;
+import com.dio.comicsapi.namefilter.ComicNameFilter;
+import com.dio.comicsapi.sharding.ShardRouter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@EnableConfigurationProperties(ImportProperties.class)
+public class ComicImportConfig {
+
+	@Bean(destroyMethod = "shutdown")
+	public ComicImportService comicImportService(DataSource dataSource, PlatformTransactionManager transactionManager,
+			EntityManagerFactory entityManagerFactory, ComicNameFilter comicNameFilter, ComicIdIndex comicIdIndex,
+			ObjectProvider<ShardRouter> shardRouter, Validator validator, ObjectMapper objectMapper, ImportProperties importProperties,
+			MeterRegistry meterRegistry) {
+		return new ComicImportService(new JdbcTemplate(dataSource), new TransactionTemplate(transactionManager), entityManagerFactory,
+				comicNameFilter, comicIdIndex, shardRouter.getIfAvailable(), validator, objectMapper, importProperties, meterRegistry);
+	}
+}
@@ -0,0 +1,375 @@
+package com.dio.comicsapi.bulkimport;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManagerFactory;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.dio.comicsapi.dto.ComicDTO;
+import com.dio.comicsapi.dto.ImportJobDTO;
+import com.dio.comicsapi.enums.ImportFormat;
+import com.dio.comicsapi.enums.StockEventType;
+import com.dio.comicsapi.exceptions.ImportJobNotFoundException;
+import com.dio.comicsapi.index.ComicIdIndex;
+import com.dio.comicsapi.namefilter.ComicNameFilter;
+import com.dio.comicsapi.sharding.ShardContext;
+import com.dio.comicsapi.sharding.ShardRouter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+// Pipeline per job: one reader parses and validates rows into batches, a bounded queue applies back pressure,
+// and a pool of writers inserts each batch with one JDBC batch statement per shard. Inserts bypass Hibernate, so
+// writers keep the name filter, the id index and the query cache in step themselves, and write the CREATED outbox
+// events ComicService.createComic would have written, in the same transaction. Batches committed before
+// a cancel or a failure stay in the catalog.
+@Slf4j
+public class ComicImportService {
+
+	private static final String INSERT_COMIC = "INSERT INTO comic (name, authors, max, quantity, publisher) VALUES (?, ?, ?, ?, ?)";
+	
+	private static final String INSERT_CREATED_EVENT = "INSERT INTO comic_outbox (comic_id, type, quantity_delta, quantity_after, occurred_at) VALUES (?, ?, ?, ?, ?)";
+	
+	private static final List<ImportRow> END_OF_INPUT = Collections.emptyList();
+	
+	private final JdbcTemplate jdbcTemplate;
+	
+	private final TransactionTemplate transactionTemplate;
+	
+	private final EntityManagerFactory entityManagerFactory;
+	
+	private final ComicNameFilter comicNameFilter;
+	
+	private final ComicIdIndex comicIdIndex;
+	
+	private final ShardRouter shardRouter;
+	
+	private final Validator validator;
+	
+	private final ObjectMapper objectMapper;
+	
+	private final ImportProperties importProperties;
+	
+	private final ExecutorService jobExecutor;
+	
+	private final ExecutorService writerExecutor;
+	
+	private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+	
+	private final Counter importedRows;
+	
+	private final Counter rejectedRows;
+	
+	public ComicImportService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, EntityManagerFactory entityManagerFactory,
+			ComicNameFilter comicNameFilter, ComicIdIndex comicIdIndex, ShardRouter shardRouter, Validator validator,
+			ObjectMapper objectMapper, ImportProperties importProperties, MeterRegistry meterRegistry) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = transactionTemplate;
+		this.entityManagerFactory = entityManagerFactory;
+		this.comicNameFilter = comicNameFilter;
+		this.comicIdIndex = comicIdIndex;
+		this.shardRouter = shardRouter;
+		this.validator = validator;
+		this.objectMapper = objectMapper;
+		this.importProperties = importProperties;
+		this.jobExecutor = Executors.newFixedThreadPool(importProperties.getConcurrentJobs(), new CustomizableThreadFactory("comic-import-"));
+		this.writerExecutor = Executors.newFixedThreadPool(importProperties.getConcurrentJobs() * importProperties.getWriters(),
+				new CustomizableThreadFactory("comic-import-writer-"));
+		this.importedRows = meterRegistry.counter("comics.import.rows", "outcome", "imported");
+		this.rejectedRows = meterRegistry.counter("comics.import.rows", "outcome", "rejected");
+	}
+	
+	// Stages the upload on disk so the request returns as soon as the body is received.
+	public ImportJobDTO submit(InputStream body, ImportFormat format) throws IOException {
+		Files.createDirectories(importProperties.getDirectory());
+		String id = UUID.randomUUID().toString();
+		Path file = importProperties.getDirectory().resolve(id + "." + format.name().toLowerCase(Locale.ROOT));
+		Files.copy(body, file);
+		ImportJob job = new ImportJob(id, format, file, importProperties.getDirectory().resolve(id + "-errors.ndjson"), Files.size(file));
+		pruneFinishedJobs();
+		jobs.put(id, job);
+		jobExecutor.execute(() -> run(job));
+		return job.toDTO();
+	}
+	
+	public ImportJobDTO status(String id) throws ImportJobNotFoundException {
+		return find(id).toDTO();
+	}
+	
+	public ImportJobDTO cancel(String id) throws ImportJobNotFoundException {
+		ImportJob job = find(id);
+		job.cancel();
+		return job.toDTO();
+	}
+	
+	public Path errorFile(String id) throws ImportJobNotFoundException {
+		Path errorFile = find(id).getErrorFile();
+		if (!Files.exists(errorFile)) {
+			throw new ImportJobNotFoundException(id);
+		}
+		return errorFile;
+	}
+	
+	public void shutdown() {
+		jobs.values().forEach(ImportJob::cancel);
+		jobExecutor.shutdownNow();
+		writerExecutor.shutdownNow();
+	}
+	
+	private ImportJob find(String id) throws ImportJobNotFoundException {
+		ImportJob job = jobs.get(id);
+		if (job == null) {
+			throw new ImportJobNotFoundException(id);
+		}
+		return job;
+	}
+	
+	private void run(ImportJob job) {
+		if (job.isStopping()) {
+			job.finish();
+			deleteQuietly(job.getFile());
+			return;
+		}
+		job.start();
+		BlockingQueue<List<ImportRow>> batches = new ArrayBlockingQueue<>(importProperties.getQueueCapacity());
+		try (ImportErrorFile errorFile = new ImportErrorFile(job.getErrorFile(), objectMapper)) {
+			List<Future<?>> writers = new ArrayList<>();
+			for (int i = 0; i < importProperties.getWriters(); i++) {
+				writers.add(writerExecutor.submit(() -> drain(job, batches, errorFile)));
+			}
+			try {
+				read(job, batches, errorFile);
+			} catch (IOException | RuntimeException e) {
+				job.fail(e);
+			} finally {
+				for (int i = 0; i < writers.size(); i++) {
+					batches.put(END_OF_INPUT);
+				}
+				for (Future<?> writer : writers) {
+					writer.get();
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			job.fail(e);
+		} catch (IOException | ExecutionException e) {
+			job.fail(e);
+		} finally {
+			job.finish();
+			deleteQuietly(job.getFile());
+			log.info("Import job {} finished {}: {} rows imported, {} rejected", job.getId(), job.getStatus(),
+					job.getRowsImported().get(), job.getRowsRejected().get());
+		}
+	}
+	
+	private void read(ImportJob job, BlockingQueue<List<ImportRow>> batches, ImportErrorFile errorFile)
+			throws IOException, InterruptedException {
+		try (ComicRowReader reader = open(job)) {
+			List<ImportRow> batch = new ArrayList<>(importProperties.getBatchSize());
+			ImportRow row;
+			while (!job.isStopping() && (row = reader.next()) != null) {
+				job.getRowsRead().incrementAndGet();
+				String rejection = row.isMalformed() ? row.getError() : validate(row.getComic());
+				if (rejection != null) {
+					reject(job, errorFile, row, rejection);
+					continue;
+				}
+				batch.add(row);
+				if (batch.size() == importProperties.getBatchSize()) {
+					batches.put(batch);
+					batch = new ArrayList<>(importProperties.getBatchSize());
+				}
+			}
+			if (!batch.isEmpty() && !job.isStopping()) {
+				batches.put(batch);
+			}
+		}
+	}
+	
+	private ComicRowReader open(ImportJob job) throws IOException {
+		InputStream input = new CountingInputStream(Files.newInputStream(job.getFile()), job.getBytesRead());
+		BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 1 << 16);
+		if (job.getFormat() == ImportFormat.CSV) {
+			return new CsvComicRowReader(reader);
+		}
+		return new NdjsonComicRowReader(reader, objectMapper.readerFor(ComicDTO.class));
+	}
+	
+	private String validate(ComicDTO comic) {
+		Set<ConstraintViolation<ComicDTO>> violations = validator.validate(comic);
+		if (violations.isEmpty()) {
+			return null;
+		}
+		return violations.stream()
+				.map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+				.sorted()
+				.collect(Collectors.joining(", "));
+	}
+	
+	// Keeps taking batches after a stop so the reader never blocks on a full queue.
+	private void drain(ImportJob job, BlockingQueue<List<ImportRow>> batches, ImportErrorFile errorFile) {
+		try {
+			List<ImportRow> batch;
+			while ((batch = batches.take()) != END_OF_INPUT) {
+				if (!job.isStopping()) {
+					try {
+						write(job, batch, errorFile);
+					} catch (RuntimeException e) {
+						job.fail(e);
+					}
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			job.fail(e);
+		}
+	}
+	
+	private void write(ImportJob job, List<ImportRow> batch, ImportErrorFile errorFile) {
+		Map<Integer, List<ImportRow>> byShard = shardRouter == null ? Collections.singletonMap(0, batch)
+				: batch.stream().collect(Collectors.groupingBy(row -> shardRouter.shardForName(row.getComic().getName())));
+		byShard.forEach((shard, rows) -> ShardContext.callOn(shard, () -> {
+			insert(job, rows, errorFile);
+			return null;
+		}));
+		entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class).evictQueryRegions();
+	}
+	
+	// A duplicate name fails the whole batch, so that batch is replayed row by row to reject only the offending rows.
+	private void insert(ImportJob job, List<ImportRow> rows, ImportErrorFile errorFile) {
+		try {
+			transactionTemplate.executeWithoutResult(status -> insertBatch(rows));
+			imported(job, rows);
+		} catch (DataIntegrityViolationException batchFailure) {
+			for (ImportRow row : rows) {
+				List<ImportRow> single = Collections.singletonList(row);
+				try {
+					transactionTemplate.executeWithoutResult(status -> insertBatch(single));
+					imported(job, single);
+				} catch (DuplicateKeyException e) {
+					reject(job, errorFile, row, String.format("Comic with name %s already registered in the system.", row.getComic().getName()));
+				} catch (DataIntegrityViolationException e) {
+					reject(job, errorFile, row, e.getMostSpecificCause().getMessage());
+				}
+			}
+		}
+	}
+	
+	// Runs inside the batch transaction. Names reach the filter before the insert, as in ComicService.createComic, so
+	// a concurrent create or lookup never sees a committed row the filter calls absent; a rollback only leaves false
+	// positives. Ids reach the index before commit too, and ComicIdIndex undoes them on rollback.
+	private void insertBatch(List<ImportRow> rows) {
+		rows.forEach(row -> comicNameFilter.add(row.getComic().getName()));
+		jdbcTemplate.batchUpdate(INSERT_COMIC, new BatchPreparedStatementSetter() {
+			@Override
+			public void setValues(PreparedStatement statement, int index) throws SQLException {
+				ComicDTO comic = rows.get(index).getComic();
+				statement.setString(1, comic.getName());
+				statement.setString(2, comic.getAuthors());
+				statement.setInt(3, comic.getMax());
+				statement.setInt(4, comic.getQuantity());
+				statement.setString(5, comic.getPublisher().name());
+			}
+			
+			@Override
+			public int getBatchSize() {
+				return rows.size();
+			}
+		});
+		String placeholders = String.join(",", Collections.nCopies(rows.size(), "?"));
+		Map<String, Long> ids = new HashMap<>(rows.size() * 2);
+		jdbcTemplate.query("SELECT id, name FROM comic WHERE name IN (" + placeholders + ")",
+				resultSet -> {
+					ids.put(resultSet.getString(2), resultSet.getLong(1));
+				},
+				rows.stream().map(row -> row.getComic().getName()).toArray());
+		for (ImportRow row : rows) {
+			ComicDTO comic = row.getComic();
+			comicIdIndex.putBeforeCommit(ids.get(comic.getName()), comic.getQuantity(), comic.getMax(), comic.getPublisher().ordinal());
+		}
+		Timestamp occurredAt = Timestamp.from(Instant.now());
+		jdbcTemplate.batchUpdate(INSERT_CREATED_EVENT, new BatchPreparedStatementSetter() {
+			@Override
+			public void setValues(PreparedStatement statement, int index) throws SQLException {
+				ComicDTO comic = rows.get(index).getComic();
+				statement.setLong(1, ids.get(comic.getName()));
+				statement.setString(2, StockEventType.CREATED.name());
+				statement.setInt(3, comic.getQuantity());
+				statement.setInt(4, comic.getQuantity());
+				statement.setTimestamp(5, occurredAt);
+			}
+			
+			@Override
+			public int getBatchSize() {
+				return rows.size();
+			}
+		});
+	}
+	
+	private void imported(ImportJob job, List<ImportRow> rows) {
+		job.getRowsImported().addAndGet(rows.size());
+		importedRows.increment(rows.size());
+	}
+	
+	private void reject(ImportJob job, ImportErrorFile errorFile, ImportRow row, String reason) {
+		errorFile.reject(row, reason);
+		job.getRowsRejected().incrementAndGet();
+		rejectedRows.increment();
+	}
+	
+	private void pruneFinishedJobs() {
+		List<ImportJob> finished = jobs.values().stream()
+				.filter(job -> job.getStatus().isFinished())
+				.sorted(Comparator.comparing(ImportJob::getSubmittedAt))
+				.collect(Collectors.toList());
+		for (int i = 0; i < finished.size() - importProperties.getRetainedJobs() + 1; i++) {
+			jobs.remove(finished.get(i).getId());
+			deleteQuietly(finished.get(i).getErrorFile());
+		}
+	}
+	
+	private static void deleteQuietly(Path file) {
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException e) {
+			log.warn("Could not delete {}", file, e);
+		}
+	}
+}
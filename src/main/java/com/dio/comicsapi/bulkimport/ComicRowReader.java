@@ -0,0 +1,10 @@
+package com.dio.comicsapi.bulkimport;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+// Returns null at end of input. A row that cannot be parsed comes back malformed instead of failing the job.
+interface ComicRowReader extends Closeable {
+
+	ImportRow next() throws IOException;
+}
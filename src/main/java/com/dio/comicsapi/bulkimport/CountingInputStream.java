@@ -0,0 +1,41 @@
+package com.dio.comicsapi.bulkimport;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicLong;
+
+class CountingInputStream extends FilterInputStream {
+
+	private final AtomicLong bytesRead;
+	
+	CountingInputStream(InputStream in, AtomicLong bytesRead) {
+		super(in);
+		this.bytesRead = bytesRead;
+	}
+	
+	@Override
+	public int read() throws IOException {
+		int read = super.read();
+		if (read >= 0) {
+			bytesRead.incrementAndGet();
+		}
+		return read;
+	}
+	
+	@Override
+	public int read(byte[] buffer, int offset, int length) throws IOException {
+		int read = super.read(buffer, offset, length);
+		if (read > 0) {
+			bytesRead.addAndGet(read);
+		}
+		return read;
+	}
+	
+	@Override
+	public long skip(long n) throws IOException {
+		long skipped = super.skip(n);
+		bytesRead.addAndGet(skipped);
+		return skipped;
+	}
+}
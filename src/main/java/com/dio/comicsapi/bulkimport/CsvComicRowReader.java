@@ -0,0 +1,144 @@
+package com.dio.comicsapi.bulkimport;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.dio.comicsapi.dto.ComicDTO;
+import com.dio.comicsapi.enums.Publisher;
+
+// RFC 4180: comma separated, fields may be quoted, quotes are escaped by doubling and quoted fields may span lines.
+// The first record is a header naming the name, authors, max, quantity and publisher columns in any order.
+class CsvComicRowReader implements ComicRowReader {
+
+	private static final String[] COLUMNS = { "name", "authors", "max", "quantity", "publisher" };
+	
+	private final BufferedReader reader;
+	
+	private final int[] columnIndexes = new int[COLUMNS.length];
+	
+	private final StringBuilder raw = new StringBuilder();
+	
+	private final StringBuilder field = new StringBuilder();
+	
+	private long line;
+	
+	private long recordLine;
+	
+	CsvComicRowReader(BufferedReader reader) throws IOException {
+		this.reader = reader;
+		List<String> header = readRecord();
+		if (header == null) {
+			throw new IOException("CSV import has no header row");
+		}
+		Map<String, Integer> positions = new HashMap<>();
+		for (int i = 0; i < header.size(); i++) {
+			positions.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+		}
+		for (int i = 0; i < COLUMNS.length; i++) {
+			Integer position = positions.get(COLUMNS[i]);
+			if (position == null) {
+				throw new IOException("CSV import header is missing the " + COLUMNS[i] + " column");
+			}
+			columnIndexes[i] = position;
+		}
+	}
+	
+	@Override
+	public ImportRow next() throws IOException {
+		List<String> record;
+		do {
+			record = readRecord();
+		} while (record != null && record.size() == 1 && record.get(0).isEmpty());
+		if (record == null) {
+			return null;
+		}
+		String rawRecord = raw.toString();
+		String[] values = new String[COLUMNS.length];
+		for (int i = 0; i < COLUMNS.length; i++) {
+			if (columnIndexes[i] >= record.size()) {
+				return ImportRow.malformed(recordLine, rawRecord, "Missing " + COLUMNS[i] + " column");
+			}
+			values[i] = record.get(columnIndexes[i]);
+		}
+		ComicDTO comic = new ComicDTO();
+		comic.setName(emptyToNull(values[0]));
+		comic.setAuthors(emptyToNull(values[1]));
+		try {
+			comic.setMax(values[2].isEmpty() ? null : Integer.valueOf(values[2].trim()));
+			comic.setQuantity(values[3].isEmpty() ? null : Integer.valueOf(values[3].trim()));
+		} catch (NumberFormatException e) {
+			return ImportRow.malformed(recordLine, rawRecord, "Not a number: " + e.getMessage());
+		}
+		try {
+			comic.setPublisher(values[4].isEmpty() ? null : Publisher.valueOf(values[4].trim().toUpperCase(Locale.ROOT)));
+		} catch (IllegalArgumentException e) {
+			return ImportRow.malformed(recordLine, rawRecord, "Unknown publisher " + values[4]);
+		}
+		return ImportRow.parsed(recordLine, rawRecord, comic);
+	}
+	
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+	
+	private List<String> readRecord() throws IOException {
+		raw.setLength(0);
+		field.setLength(0);
+		int c = reader.read();
+		if (c < 0) {
+			return null;
+		}
+		line++;
+		recordLine = line;
+		List<String> record = new ArrayList<>(COLUMNS.length);
+		boolean quoted = false;
+		while (c >= 0) {
+			char current = (char) c;
+			if (quoted) {
+				if (current == '"') {
+					reader.mark(1);
+					int following = reader.read();
+					if (following == '"') {
+						field.append('"');
+						raw.append("\"\"");
+					} else {
+						quoted = false;
+						raw.append('"');
+						reader.reset();
+					}
+				} else {
+					if (current == '\n') {
+						line++;
+					}
+					field.append(current);
+					raw.append(current);
+				}
+			} else if (current == '"' && field.length() == 0) {
+				quoted = true;
+				raw.append(current);
+			} else if (current == ',') {
+				record.add(field.toString());
+				field.setLength(0);
+				raw.append(current);
+			} else if (current == '\n') {
+				break;
+			} else if (current != '\r') {
+				field.append(current);
+				raw.append(current);
+			}
+			c = reader.read();
+		}
+		record.add(field.toString());
+		return record;
+	}
+	
+	private static String emptyToNull(String value) {
+		return value.isEmpty() ? null : value;
+	}
+}
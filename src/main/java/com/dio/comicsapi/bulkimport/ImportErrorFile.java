@@ -0,0 +1,45 @@
+package com.dio.comicsapi.bulkimport;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// One JSON object per rejected row: line, reason and the row as it appeared in the input. Shared by the reader
+// and every writer of a job.
+class ImportErrorFile implements Closeable {
+
+	private final BufferedWriter writer;
+	
+	private final ObjectMapper objectMapper;
+	
+	ImportErrorFile(Path file, ObjectMapper objectMapper) throws IOException {
+		this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+		this.objectMapper = objectMapper;
+	}
+	
+	synchronized void reject(ImportRow row, String reason) {
+		Map<String, Object> error = new LinkedHashMap<>();
+		error.put("line", row.getLine());
+		error.put("reason", reason);
+		error.put("row", row.getRaw());
+		try {
+			writer.write(objectMapper.writeValueAsString(error));
+			writer.newLine();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	@Override
+	public synchronized void close() throws IOException {
+		writer.close();
+	}
+}
@@ -0,0 +1,108 @@
+package com.dio.comicsapi.bulkimport;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.dio.comicsapi.dto.ImportJobDTO;
+import com.dio.comicsapi.enums.ImportFormat;
+import com.dio.comicsapi.enums.ImportStatus;
+
+import lombok.Getter;
+
+@Getter
+class ImportJob {
+
+	private final String id;
+	
+	private final ImportFormat format;
+	
+	private final Path file;
+	
+	private final Path errorFile;
+	
+	private final long bytesTotal;
+	
+	private final Instant submittedAt = Instant.now();
+	
+	private final AtomicLong bytesRead = new AtomicLong();
+	
+	private final AtomicLong rowsRead = new AtomicLong();
+	
+	private final AtomicLong rowsImported = new AtomicLong();
+	
+	private final AtomicLong rowsRejected = new AtomicLong();
+	
+	private volatile ImportStatus status = ImportStatus.QUEUED;
+	
+	private volatile boolean cancelRequested;
+	
+	private volatile String failure;
+	
+	private volatile Instant startedAt;
+	
+	private volatile Instant finishedAt;
+	
+	ImportJob(String id, ImportFormat format, Path file, Path errorFile, long bytesTotal) {
+		this.id = id;
+		this.format = format;
+		this.file = file;
+		this.errorFile = errorFile;
+		this.bytesTotal = bytesTotal;
+	}
+	
+	void start() {
+		startedAt = Instant.now();
+		status = ImportStatus.RUNNING;
+	}
+	
+	void cancel() {
+		cancelRequested = true;
+	}
+	
+	// The first failure wins and stops the reader and the writers.
+	synchronized void fail(Throwable cause) {
+		if (failure == null) {
+			failure = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getName();
+		}
+	}
+	
+	boolean isStopping() {
+		return cancelRequested || failure != null;
+	}
+	
+	void finish() {
+		finishedAt = Instant.now();
+		if (failure != null) {
+			status = ImportStatus.FAILED;
+		} else if (cancelRequested) {
+			status = ImportStatus.CANCELLED;
+		} else {
+			status = ImportStatus.COMPLETED;
+		}
+	}
+	
+	ImportJobDTO toDTO() {
+		Instant started = startedAt;
+		Instant end = finishedAt != null ? finishedAt : Instant.now();
+		double seconds = started != null ? Math.max(Duration.between(started, end).toNanos() / 1e9, 1e-9) : 0;
+		long processed = rowsImported.get() + rowsRejected.get();
+		return ImportJobDTO.builder()
+				.id(id)
+				.format(format)
+				.status(status)
+				.bytesTotal(bytesTotal)
+				.bytesRead(bytesRead.get())
+				.progress(status == ImportStatus.COMPLETED ? 1.0 : bytesTotal > 0 ? Math.min(1.0, (double) bytesRead.get() / bytesTotal) : 0)
+				.rowsRead(rowsRead.get())
+				.rowsImported(rowsImported.get())
+				.rowsRejected(rowsRejected.get())
+				.rowsPerSecond(seconds > 0 ? processed / seconds : 0)
+				.submittedAt(submittedAt)
+				.startedAt(started)
+				.finishedAt(finishedAt)
+				.failure(failure)
+				.build();
+	}
+}
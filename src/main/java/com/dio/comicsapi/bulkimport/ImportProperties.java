@@ -0,0 +1,25 @@
+package com.dio.comicsapi.bulkimport;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "comics.import")
+public class ImportProperties {
+
+	private Path directory = Paths.get(System.getProperty("java.io.tmpdir"), "comic-imports");
+	
+	private int concurrentJobs = 1;
+	
+	private int writers = 4;
+	
+	private int batchSize = 1000;
+	
+	private int queueCapacity = 16;
+	
+	private int retainedJobs = 100;
+}
@@ -0,0 +1,31 @@
+package com.dio.comicsapi.bulkimport;
+
+import com.dio.comicsapi.dto.ComicDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+class ImportRow {
+
+	private final long line;
+	
+	private final String raw;
+	
+	private final ComicDTO comic;
+	
+	private final String error;
+	
+	static ImportRow parsed(long line, String raw, ComicDTO comic) {
+		return new ImportRow(line, raw, comic, null);
+	}
+	
+	static ImportRow malformed(long line, String raw, String error) {
+		return new ImportRow(line, raw, null, error);
+	}
+	
+	boolean isMalformed() {
+		return error != null;
+	}
+}
@@ -0,0 +1,46 @@
+package com.dio.comicsapi.bulkimport;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+import com.dio.comicsapi.dto.ComicDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+class NdjsonComicRowReader implements ComicRowReader {
+
+	private final BufferedReader reader;
+	
+	private final ObjectReader comicReader;
+	
+	private long line;
+	
+	NdjsonComicRowReader(BufferedReader reader, ObjectReader comicReader) {
+		this.reader = reader;
+		this.comicReader = comicReader;
+	}
+	
+	@Override
+	public ImportRow next() throws IOException {
+		String raw;
+		do {
+			raw = reader.readLine();
+			line++;
+		} while (raw != null && raw.trim().isEmpty());
+		if (raw == null) {
+			return null;
+		}
+		try {
+			ComicDTO comic = comicReader.readValue(raw, ComicDTO.class);
+			comic.setId(null);
+			return ImportRow.parsed(line, raw, comic);
+		} catch (JsonProcessingException e) {
+			return ImportRow.malformed(line, raw, "Malformed JSON: " + e.getOriginalMessage());
+		}
+	}
+	
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+}
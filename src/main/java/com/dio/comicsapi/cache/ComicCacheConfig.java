@@ -0,0 +1,47 @@
+package com.dio.comicsapi.cache;
+
+import java.net.URI;
+import java.util.UUID;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ComicCacheProperties.class)
+public class ComicCacheConfig {
+
+	// Each application context gets its own manager, so contexts sharing a JVM never see each other's regions.
+	@Bean
+	public CacheManager hibernateCacheManager(ComicCacheProperties comicCacheProperties) {
+		EhcacheCachingProvider cachingProvider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+		CacheManager cacheManager = cachingProvider.getCacheManager(URI.create("urn:comics-cache:" + UUID.randomUUID()),
+				new DefaultConfiguration(getClass().getClassLoader()));
+		createRegion(cacheManager, ComicCacheRegions.COMIC, comicCacheProperties.getComicEntries());
+		createRegion(cacheManager, ComicCacheRegions.COMIC_BY_NAME, comicCacheProperties.getByNameEntries());
+		createRegion(cacheManager, ComicCacheRegions.DEFAULT_QUERY_RESULTS, comicCacheProperties.getByNameEntries());
+		createRegion(cacheManager, ComicCacheRegions.UPDATE_TIMESTAMPS, comicCacheProperties.getTimestampEntries());
+		return cacheManager;
+	}
+	
+	@Bean
+	public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+		return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+	}
+	
+	private void createRegion(CacheManager cacheManager, String region, long entries) {
+		cacheManager.createCache(region, Eh107Configuration.fromEhcacheCacheConfiguration(
+				CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(entries))));
+		cacheManager.enableStatistics(region, true);
+	}
+}
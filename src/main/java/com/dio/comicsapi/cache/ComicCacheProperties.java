@@ -0,0 +1,16 @@
+package com.dio.comicsapi.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "comics.cache")
+public class ComicCacheProperties {
+
+	private long comicEntries = 10_000;
+	
+	private long byNameEntries = 10_000;
+	
+	private long timestampEntries = 1_000;
+}
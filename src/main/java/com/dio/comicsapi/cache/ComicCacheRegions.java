@@ -0,0 +1,15 @@
+package com.dio.comicsapi.cache;
+
+public final class ComicCacheRegions {
+
+	public static final String COMIC = "comic";
+	
+	public static final String COMIC_BY_NAME = "comicByName";
+	
+	public static final String DEFAULT_QUERY_RESULTS = "default-query-results-region";
+	
+	public static final String UPDATE_TIMESTAMPS = "default-update-timestamps-region";
+	
+	private ComicCacheRegions() {
+	}
+}
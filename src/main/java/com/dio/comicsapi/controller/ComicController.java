@@ -16,6 +16,8 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.dio.comicsapi.dto.ComicDTO;
+import com.dio.comicsapi.dto.ComicLookupDTO;
+import com.dio.comicsapi.dto.ComicLookupResultDTO;
 import com.dio.comicsapi.dto.QuantityDTO;
 import com.dio.comicsapi.exceptions.ComicAlreadyRegisteredException;
 import com.dio.comicsapi.exceptions.ComicNotFoundException;
@@ -30,6 +32,10 @@ public class ComicController {
 
 	private ComicService comicService;
 	
+	public ComicController(ComicService comicService) {
+		this.comicService = comicService;
+	}
+	
 	@PostMapping
 	@ResponseStatus(HttpStatus.CREATED)
 	public ComicDTO createComic(@RequestBody @Valid ComicDTO comicDTO) throws ComicAlreadyRegisteredException{
@@ -41,6 +47,11 @@ public class ComicController {
 		return comicService.findByName(name);
 	}
 	
+	@PostMapping("/lookup")
+	public ComicLookupResultDTO lookup(@RequestBody @Valid ComicLookupDTO comicLookupDTO) {
+		return comicService.findAll(comicLookupDTO.getIds(), comicLookupDTO.getNames());
+	}
+	
 	@GetMapping
 	public List<ComicDTO> listComic() {
 		return comicService.listAll();
@@ -0,0 +1,59 @@
+package com.dio.comicsapi.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.dio.comicsapi.bulkimport.ComicImportService;
+import com.dio.comicsapi.dto.ImportJobDTO;
+import com.dio.comicsapi.enums.ImportFormat;
+import com.dio.comicsapi.exceptions.ImportJobNotFoundException;
+
+
+@RestController
+@RequestMapping("api/v1/comic/imports")
+public class ComicImportController {
+
+	private ComicImportService comicImportService;
+	
+	public ComicImportController(ComicImportService comicImportService) {
+		this.comicImportService = comicImportService;
+	}
+	
+	@PostMapping(consumes = { "text/csv", "application/x-ndjson" })
+	public ResponseEntity<ImportJobDTO> submit(InputStream body, @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType) throws IOException {
+		ImportJobDTO job = comicImportService.submit(body, ImportFormat.of(contentType));
+		return ResponseEntity.accepted().location(URI.create("/api/v1/comic/imports/" + job.getId())).body(job);
+	}
+	
+	@GetMapping("/{jobId}")
+	public ImportJobDTO status(@PathVariable String jobId) throws ImportJobNotFoundException {
+		return comicImportService.status(jobId);
+	}
+	
+	@DeleteMapping("/{jobId}")
+	@ResponseStatus(HttpStatus.ACCEPTED)
+	public ImportJobDTO cancel(@PathVariable String jobId) throws ImportJobNotFoundException {
+		return comicImportService.cancel(jobId);
+	}
+	
+	@GetMapping(value = "/{jobId}/errors", produces = "application/x-ndjson")
+	public Resource errors(@PathVariable String jobId) throws ImportJobNotFoundException {
+		return new FileSystemResource(comicImportService.errorFile(jobId));
+	}
+}
@@ -0,0 +1,128 @@
+package com.dio.comicsapi.diagnostics;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import com.dio.comicsapi.cache.ComicCacheRegions;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+@Component
+@Endpoint(id = "comicsdiagnostics")
+public class ComicsDiagnosticsEndpoint {
+
+	private final MeterRegistry meterRegistry;
+	
+	private final Statistics statistics;
+	
+	private final StatementDiagnostics statementDiagnostics;
+	
+	private final long slowQueryThresholdMs;
+	
+	public ComicsDiagnosticsEndpoint(MeterRegistry meterRegistry, EntityManagerFactory entityManagerFactory,
+			StatementDiagnostics statementDiagnostics, @Value("${comics.diagnostics.slow-query-threshold-ms:50}") long slowQueryThresholdMs) {
+		this.meterRegistry = meterRegistry;
+		this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		this.statementDiagnostics = statementDiagnostics;
+		this.slowQueryThresholdMs = slowQueryThresholdMs;
+	}
+	
+	@ReadOperation
+	public Map<String, Object> diagnostics() {
+		Map<String, Object> diagnostics = new LinkedHashMap<>();
+		diagnostics.put("pool", pool());
+		diagnostics.put("statementsPerRequest", statementDiagnostics.snapshot());
+		diagnostics.put("hibernate", hibernate());
+		diagnostics.put("cacheRegions", cacheRegions());
+		diagnostics.put("slowQueries", slowQueries());
+		return diagnostics;
+	}
+	
+	private Map<String, Object> pool() {
+		Double active = gauge("hikaricp.connections.active");
+		Double max = gauge("hikaricp.connections.max");
+		Map<String, Object> pool = new LinkedHashMap<>();
+		pool.put("active", active);
+		pool.put("idle", gauge("hikaricp.connections.idle"));
+		pool.put("pending", gauge("hikaricp.connections.pending"));
+		pool.put("max", max);
+		pool.put("saturation", active != null && max != null && max > 0 ? active / max : null);
+		Timer acquire = meterRegistry.find("hikaricp.connections.acquire").timer();
+		if (acquire != null) {
+			pool.put("acquireCount", acquire.count());
+			pool.put("acquireMeanMs", acquire.mean(TimeUnit.MILLISECONDS));
+			pool.put("acquireMaxMs", acquire.max(TimeUnit.MILLISECONDS));
+		}
+		Counter timeouts = meterRegistry.find("hikaricp.connections.timeout").counter();
+		pool.put("timeouts", timeouts != null ? timeouts.count() : null);
+		return pool;
+	}
+	
+	private Double gauge(String name) {
+		Gauge gauge = meterRegistry.find(name).gauge();
+		return gauge != null ? gauge.value() : null;
+	}
+	
+	private Map<String, Object> hibernate() {
+		Map<String, Object> hibernate = new LinkedHashMap<>();
+		hibernate.put("statisticsEnabled", statistics.isStatisticsEnabled());
+		hibernate.put("preparedStatements", statistics.getPrepareStatementCount());
+		hibernate.put("queryExecutions", statistics.getQueryExecutionCount());
+		hibernate.put("queryExecutionMaxTimeMs", statistics.getQueryExecutionMaxTime());
+		hibernate.put("slowestQuery", statistics.getQueryExecutionMaxTimeQueryString());
+		hibernate.put("entityLoads", statistics.getEntityLoadCount());
+		hibernate.put("entityInserts", statistics.getEntityInsertCount());
+		hibernate.put("entityUpdates", statistics.getEntityUpdateCount());
+		hibernate.put("entityDeletes", statistics.getEntityDeleteCount());
+		return hibernate;
+	}
+	
+	private Map<String, Object> cacheRegions() {
+		Map<String, Object> cacheRegions = new LinkedHashMap<>();
+		for (String region : new String[] { ComicCacheRegions.COMIC, ComicCacheRegions.COMIC_BY_NAME }) {
+			CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+			if (regionStatistics != null) {
+				Map<String, Object> regionMap = new LinkedHashMap<>();
+				regionMap.put("hits", regionStatistics.getHitCount());
+				regionMap.put("misses", regionStatistics.getMissCount());
+				regionMap.put("puts", regionStatistics.getPutCount());
+				regionMap.put("entriesInMemory", regionStatistics.getElementCountInMemory());
+				cacheRegions.put(region, regionMap);
+			}
+		}
+		return cacheRegions;
+	}
+	
+	private List<Map<String, Object>> slowQueries() {
+		List<Map<String, Object>> slowQueries = new ArrayList<>();
+		for (String query : statistics.getQueries()) {
+			QueryStatistics queryStatistics = statistics.getQueryStatistics(query);
+			if (queryStatistics.getExecutionMaxTime() >= slowQueryThresholdMs) {
+				Map<String, Object> slowQuery = new LinkedHashMap<>();
+				slowQuery.put("query", query);
+				slowQuery.put("executions", queryStatistics.getExecutionCount());
+				slowQuery.put("avgTimeMs", queryStatistics.getExecutionAvgTime());
+				slowQuery.put("maxTimeMs", queryStatistics.getExecutionMaxTime());
+				slowQueries.add(slowQuery);
+			}
+		}
+		return slowQueries;
+	}
+}
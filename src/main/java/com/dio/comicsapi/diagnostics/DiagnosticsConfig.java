@@ -0,0 +1,27 @@
+package com.dio.comicsapi.diagnostics;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import lombok.RequiredArgsConstructor;
+
+@Configuration
+@RequiredArgsConstructor
+public class DiagnosticsConfig implements WebMvcConfigurer {
+
+	private final StatementDiagnostics statementDiagnostics;
+	
+	@Bean
+	public HibernatePropertiesCustomizer statementCounterCustomizer() {
+		return hibernateProperties -> hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, new StatementCounter());
+	}
+	
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		registry.addInterceptor(new RequestStatementInterceptor(statementDiagnostics)).addPathPatterns("/api/**");
+	}
+}
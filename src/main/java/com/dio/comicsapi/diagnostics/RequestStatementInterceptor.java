@@ -0,0 +1,28 @@
+package com.dio.comicsapi.diagnostics;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class RequestStatementInterceptor implements HandlerInterceptor {
+
+	private final StatementDiagnostics statementDiagnostics;
+	
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		StatementCounter.reset();
+		return true;
+	}
+	
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+		Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		String path = pattern != null ? pattern.toString() : request.getRequestURI();
+		statementDiagnostics.record(request.getMethod() + " " + path, StatementCounter.current());
+	}
+}
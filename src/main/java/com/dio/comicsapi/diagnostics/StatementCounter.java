@@ -0,0 +1,24 @@
+package com.dio.comicsapi.diagnostics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+public class StatementCounter implements StatementInspector {
+
+	private static final long serialVersionUID = 1L;
+	
+	private static final ThreadLocal<int[]> STATEMENTS = ThreadLocal.withInitial(() -> new int[1]);
+	
+	@Override
+	public String inspect(String sql) {
+		STATEMENTS.get()[0]++;
+		return sql;
+	}
+	
+	public static void reset() {
+		STATEMENTS.get()[0] = 0;
+	}
+	
+	public static int current() {
+		return STATEMENTS.get()[0];
+	}
+}
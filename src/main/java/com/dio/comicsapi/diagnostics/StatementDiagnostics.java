@@ -0,0 +1,50 @@
+package com.dio.comicsapi.diagnostics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+
+@Component
+public class StatementDiagnostics {
+
+	private final Map<String, EndpointStatements> statementsByEndpoint = new ConcurrentHashMap<>();
+	
+	public void record(String endpoint, int statements) {
+		statementsByEndpoint.computeIfAbsent(endpoint, key -> new EndpointStatements()).record(statements);
+	}
+	
+	public Map<String, Map<String, Object>> snapshot() {
+		Map<String, Map<String, Object>> snapshot = new TreeMap<>();
+		statementsByEndpoint.forEach((endpoint, statements) -> snapshot.put(endpoint, statements.toMap()));
+		return snapshot;
+	}
+	
+	private static class EndpointStatements {
+		
+		private final LongAdder requests = new LongAdder();
+		
+		private final LongAdder statements = new LongAdder();
+		
+		private final AtomicLong maxStatements = new AtomicLong();
+		
+		void record(int statementCount) {
+			requests.increment();
+			statements.add(statementCount);
+			maxStatements.accumulateAndGet(statementCount, Math::max);
+		}
+		
+		Map<String, Object> toMap() {
+			long requestCount = requests.sum();
+			Map<String, Object> map = new TreeMap<>();
+			map.put("requests", requestCount);
+			map.put("statements", statements.sum());
+			map.put("avgStatementsPerRequest", requestCount == 0 ? 0.0 : (double) statements.sum() / requestCount);
+			map.put("maxStatementsPerRequest", maxStatements.get());
+			return map;
+		}
+	}
+}
@@ -0,0 +1,26 @@
+package com.dio.comicsapi.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ComicLookupDTO {
+
+	@NotNull
+	@Size(max = 1000)
+	private List<@NotNull Long> ids = new ArrayList<>();
+	
+	@NotNull
+	@Size(max = 1000)
+	private List<@NotBlank String> names = new ArrayList<>();
+}
@@ -0,0 +1,21 @@
+package com.dio.comicsapi.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ComicLookupResultDTO {
+
+	private List<ComicDTO> comics;
+	
+	private List<Long> missingIds;
+	
+	private List<String> missingNames;
+}
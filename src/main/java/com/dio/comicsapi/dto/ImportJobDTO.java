@@ -0,0 +1,46 @@
+package com.dio.comicsapi.dto;
+
+import java.time.Instant;
+
+import com.dio.comicsapi.enums.ImportFormat;
+import com.dio.comicsapi.enums.ImportStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobDTO {
+
+	private String id;
+	
+	private ImportFormat format;
+	
+	private ImportStatus status;
+	
+	private long bytesTotal;
+	
+	private long bytesRead;
+	
+	private double progress;
+	
+	private long rowsRead;
+	
+	private long rowsImported;
+	
+	private long rowsRejected;
+	
+	private double rowsPerSecond;
+	
+	private Instant submittedAt;
+	
+	private Instant startedAt;
+	
+	private Instant finishedAt;
+	
+	private String failure;
+}
@@ -1,14 +1,21 @@
 package com.dio.comicsapi.entity;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import com.dio.comicsapi.cache.ComicCacheRegions;
 import com.dio.comicsapi.enums.Publisher;
+import com.dio.comicsapi.index.ComicIdIndexListener;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -18,6 +25,9 @@ import lombok.NoArgsConstructor;
 @Entity
 @AllArgsConstructor
 @NoArgsConstructor
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ComicCacheRegions.COMIC)
+@EntityListeners(ComicIdIndexListener.class)
 public class Comic {
 
 	@Id
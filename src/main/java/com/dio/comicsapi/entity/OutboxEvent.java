@@ -0,0 +1,46 @@
+package com.dio.comicsapi.entity;
+
+import java.time.Instant;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import com.dio.comicsapi.enums.StockEventType;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Entity
+@Table(name = "comic_outbox")
+@AllArgsConstructor
+@NoArgsConstructor
+public class OutboxEvent {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+	
+	@Column(nullable = false)
+	private Long comicId;
+	
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false, length = 16)
+	private StockEventType type;
+	
+	@Column(nullable = false)
+	private int quantityDelta;
+	
+	@Column(nullable = false)
+	private int quantityAfter;
+	
+	@Column(nullable = false)
+	private Instant occurredAt;
+}
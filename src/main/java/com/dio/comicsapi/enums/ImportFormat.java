@@ -0,0 +1,25 @@
+package com.dio.comicsapi.enums;
+
+import org.springframework.http.MediaType;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum ImportFormat {
+
+	CSV("text/csv"),
+	NDJSON("application/x-ndjson");
+	
+	private final String contentType;
+	
+	public static ImportFormat of(MediaType mediaType) {
+		for (ImportFormat format : values()) {
+			if (MediaType.parseMediaType(format.contentType).isCompatibleWith(mediaType)) {
+				return format;
+			}
+		}
+		throw new IllegalArgumentException("Unsupported import content type " + mediaType);
+	}
+}
@@ -0,0 +1,14 @@
+package com.dio.comicsapi.enums;
+
+public enum ImportStatus {
+
+	QUEUED,
+	RUNNING,
+	COMPLETED,
+	CANCELLED,
+	FAILED;
+	
+	public boolean isFinished() {
+		return this == COMPLETED || this == CANCELLED || this == FAILED;
+	}
+}
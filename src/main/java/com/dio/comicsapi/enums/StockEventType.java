@@ -0,0 +1,10 @@
+package com.dio.comicsapi.enums;
+
+public enum StockEventType {
+	
+	CREATED,
+	INCREMENTED,
+	DECREMENTED,
+	DELETED;
+
+}
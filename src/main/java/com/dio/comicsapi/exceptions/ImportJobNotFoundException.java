@@ -0,0 +1,14 @@
+package com.dio.comicsapi.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class ImportJobNotFoundException extends Exception {
+
+	private static final long serialVersionUID = 1L;
+
+	public ImportJobNotFoundException(String jobId) {
+		super(String.format("Import job %s not found in the system.", jobId));
+	}
+}
@@ -0,0 +1,175 @@
+package com.dio.comicsapi.index;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.dio.comicsapi.entity.Comic;
+import com.dio.comicsapi.repository.ComicStockView;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Answers "maybe" for every id until the first rebuild, so an unbuilt or disabled index never skips the database.
+// Puts are applied before commit and undone on rollback, the same add-first approach as ComicNameFilter, so once built
+// a miss is authoritative. They run right after the row's INSERT or UPDATE, while its lock is held, so writes to one
+// comic reach the index in commit order. Removes wait for the commit: a rolled-back delete must not turn into a false
+// "absent".
+@Component
+@EnableConfigurationProperties(ComicIdIndexProperties.class)
+public class ComicIdIndex {
+
+	private final ComicIdIndexProperties comicIdIndexProperties;
+	
+	private final Map<Long, PendingPut> pendingPuts = new ConcurrentHashMap<>();
+	
+	private volatile ComicStockIndex stockIndex;
+	
+	public ComicIdIndex(ComicIdIndexProperties comicIdIndexProperties, MeterRegistry meterRegistry) {
+		this.comicIdIndexProperties = comicIdIndexProperties;
+		Gauge.builder("comics.id-index.size", this, index -> index.stockIndex != null ? index.stockIndex.size() : 0)
+				.register(meterRegistry);
+		Gauge.builder("comics.id-index.memory", this, index -> index.stockIndex != null ? index.stockIndex.memoryBytes() : 0)
+				.baseUnit("bytes")
+				.register(meterRegistry);
+	}
+	
+	public boolean isBuilt() {
+		return stockIndex != null;
+	}
+	
+	public boolean mightExist(long id) {
+		ComicStockIndex current = stockIndex;
+		return current == null || current.contains(id);
+	}
+	
+	// ComicStockIndex.ABSENT when the id is absent or the index is not built yet.
+	public long quantity(long id) {
+		ComicStockIndex current = stockIndex;
+		return current != null ? current.quantity(id) : ComicStockIndex.ABSENT;
+	}
+	
+	public long max(long id) {
+		ComicStockIndex current = stockIndex;
+		return current != null ? current.max(id) : ComicStockIndex.ABSENT;
+	}
+	
+	public void putBeforeCommit(Comic comic) {
+		putBeforeCommit(comic.getId(), comic.getQuantity(), comic.getMax(), comic.getPublisher().ordinal());
+	}
+	
+	public void putBeforeCommit(long id, int quantity, int max, int publisherOrdinal) {
+		ComicStockIndex current = stockIndex;
+		if (current == null) {
+			return;
+		}
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			current.put(id, quantity, max, publisherOrdinal);
+			return;
+		}
+		PendingPut pendingPut = new PendingPut(current, id);
+		pendingPuts.compute(id, (key, earlier) -> {
+			pendingPut.capturePrevious();
+			current.put(id, quantity, max, publisherOrdinal);
+			return pendingPut;
+		});
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCompletion(int status) {
+				pendingPuts.compute(id, (key, latest) -> {
+					if (status == STATUS_ROLLED_BACK) {
+						pendingPut.undo(latest);
+					}
+					return latest == pendingPut ? null : latest;
+				});
+			}
+		});
+	}
+	
+	public void removeAfterCommit(long id) {
+		afterCommit(() -> remove(id));
+	}
+	
+	public void put(long id, int quantity, int max, int publisherOrdinal) {
+		ComicStockIndex current = stockIndex;
+		if (current != null) {
+			current.put(id, quantity, max, publisherOrdinal);
+		}
+	}
+	
+	public void remove(long id) {
+		ComicStockIndex current = stockIndex;
+		if (current != null) {
+			current.remove(id);
+		}
+	}
+	
+	public void rebuild(Collection<ComicStockView> comics) {
+		ComicStockIndex rebuilt = new ComicStockIndex(Math.max(comicIdIndexProperties.getExpectedComics(), comics.size()));
+		comics.forEach(comic -> rebuilt.put(comic.getId(), comic.getQuantity(), comic.getMax(), comic.getPublisher().ordinal()));
+		stockIndex = rebuilt;
+	}
+	
+	// What a put overwrote, so a rollback can restore it. A rollback releases the row lock before afterCompletion
+	// runs, so a later write to the same comic may already have replaced this put: then that write's own undo state
+	// is pointed past the rolled-back values instead.
+	private static class PendingPut {
+		
+		private final ComicStockIndex stockIndex;
+		
+		private final long id;
+		
+		private boolean existed;
+		
+		private long quantity;
+		
+		private long max;
+		
+		private long publisherOrdinal;
+		
+		PendingPut(ComicStockIndex stockIndex, long id) {
+			this.stockIndex = stockIndex;
+			this.id = id;
+		}
+		
+		void capturePrevious() {
+			existed = stockIndex.contains(id);
+			quantity = stockIndex.quantity(id);
+			max = stockIndex.max(id);
+			publisherOrdinal = stockIndex.publisherOrdinal(id);
+		}
+		
+		void undo(PendingPut latest) {
+			if (latest != null && latest != this) {
+				latest.existed = existed;
+				latest.quantity = quantity;
+				latest.max = max;
+				latest.publisherOrdinal = publisherOrdinal;
+			} else if (latest == this) {
+				if (existed) {
+					stockIndex.put(id, (int) quantity, (int) max, (int) publisherOrdinal);
+				} else {
+					stockIndex.remove(id);
+				}
+			}
+		}
+	}
+	
+	private static void afterCommit(Runnable change) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			change.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				change.run();
+			}
+		});
+	}
+}
@@ -0,0 +1,29 @@
+package com.dio.comicsapi.index;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import com.dio.comicsapi.repository.ComicRepository;
+
+import lombok.RequiredArgsConstructor;
+
+// Same timing as the name filter: after a snapshot restore and before the web server accepts requests.
+@Component
+@Lazy(false)
+@RequiredArgsConstructor
+public class ComicIdIndexInitializer implements SmartInitializingSingleton {
+
+	private final ComicRepository comicRepository;
+	
+	private final ComicIdIndex comicIdIndex;
+	
+	private final ComicIdIndexProperties comicIdIndexProperties;
+	
+	@Override
+	public void afterSingletonsInstantiated() {
+		if (comicIdIndexProperties.isEnabled()) {
+			comicIdIndex.rebuild(comicRepository.findAllStock());
+		}
+	}
+}
@@ -0,0 +1,32 @@
+package com.dio.comicsapi.index;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+import org.springframework.stereotype.Component;
+
+import com.dio.comicsapi.entity.Comic;
+
+import lombok.RequiredArgsConstructor;
+
+// Hibernate resolves entity listeners through Spring's bean container, so every write that goes through the
+// persistence context reaches the index whichever caller issued it. Bulk JPQL and plain JDBC writes do not,
+// those callers update ComicIdIndex themselves.
+@Component
+@RequiredArgsConstructor
+public class ComicIdIndexListener {
+
+	private final ComicIdIndex comicIdIndex;
+	
+	@PostPersist
+	@PostUpdate
+	public void afterWrite(Comic comic) {
+		comicIdIndex.putBeforeCommit(comic);
+	}
+	
+	@PostRemove
+	public void afterRemove(Comic comic) {
+		comicIdIndex.removeAfterCommit(comic.getId());
+	}
+}
@@ -0,0 +1,14 @@
+package com.dio.comicsapi.index;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "comics.id-index")
+public class ComicIdIndexProperties {
+
+	private boolean enabled = true;
+	
+	private int expectedComics = 1024;
+}
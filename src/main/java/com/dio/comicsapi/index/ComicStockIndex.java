@@ -0,0 +1,249 @@
+package com.dio.comicsapi.index;
+
+import java.util.concurrent.locks.StampedLock;
+
+// Open-addressing long -> slot map (linear probing, backward-shift deletion) with the stock columns held in
+// parallel primitive arrays. Lookups are optimistic reads that never allocate.
+public class ComicStockIndex {
+
+	// Outside the int range, so no stored quantity, max or publisher ordinal can be mistaken for it.
+	public static final long ABSENT = Long.MIN_VALUE;
+	
+	private static final long EMPTY = 0L;
+	
+	private static final double MAX_LOAD = 0.6;
+	
+	private final StampedLock lock = new StampedLock();
+	
+	private long[] keys;
+	
+	private int[] quantities;
+	
+	private int[] max;
+	
+	private byte[] publishers;
+	
+	private int size;
+	
+	public ComicStockIndex(int expectedComics) {
+		allocate(capacityFor(expectedComics));
+	}
+	
+	public boolean contains(long id) {
+		long stamp = lock.tryOptimisticRead();
+		boolean found = find(id);
+		if (!lock.validate(stamp)) {
+			stamp = lock.readLock();
+			try {
+				found = find(id);
+			} finally {
+				lock.unlockRead(stamp);
+			}
+		}
+		return found;
+	}
+	
+	// ABSENT when the id is not indexed.
+	public long quantity(long id) {
+		return readColumn(id, 0);
+	}
+	
+	public long max(long id) {
+		return readColumn(id, 1);
+	}
+	
+	public long publisherOrdinal(long id) {
+		return readColumn(id, 2);
+	}
+	
+	public void put(long id, int quantity, int maxStock, int publisherOrdinal) {
+		if (id == EMPTY) {
+			throw new IllegalArgumentException("Comic id 0 is reserved for empty slots");
+		}
+		long stamp = lock.writeLock();
+		try {
+			if (size + 1 > keys.length * MAX_LOAD) {
+				resize(keys.length * 2);
+			}
+			int slot = slotFor(keys, id);
+			if (keys[slot] == EMPTY) {
+				keys[slot] = id;
+				size++;
+			}
+			quantities[slot] = quantity;
+			max[slot] = maxStock;
+			publishers[slot] = (byte) publisherOrdinal;
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+	
+	public void remove(long id) {
+		long stamp = lock.writeLock();
+		try {
+			int mask = keys.length - 1;
+			int slot = slotFor(keys, id);
+			if (keys[slot] == EMPTY) {
+				return;
+			}
+			// Backward-shift deletion: pull later entries of the probe run into the hole so no tombstones are needed.
+			int hole = slot;
+			int next = (hole + 1) & mask;
+			while (keys[next] != EMPTY) {
+				int home = hash(keys[next]) & mask;
+				if (((next - home) & mask) >= ((next - hole) & mask)) {
+					move(next, hole);
+					hole = next;
+				}
+				next = (next + 1) & mask;
+			}
+			keys[hole] = EMPTY;
+			size--;
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+	
+	public void clear() {
+		long stamp = lock.writeLock();
+		try {
+			allocate(keys.length);
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+	
+	public int size() {
+		long stamp = lock.readLock();
+		try {
+			return size;
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+	
+	public long memoryBytes() {
+		long stamp = lock.readLock();
+		try {
+			return (long) keys.length * (Long.BYTES + Integer.BYTES * 2 + 1);
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+	
+	private long readColumn(long id, int column) {
+		long stamp = lock.tryOptimisticRead();
+		long value = read(id, column);
+		if (!lock.validate(stamp)) {
+			stamp = lock.readLock();
+			try {
+				value = read(id, column);
+			} finally {
+				lock.unlockRead(stamp);
+			}
+		}
+		return value;
+	}
+	
+	// Safe to run without the lock: the keys are read once into a local and the probe is bounded, the caller
+	// validates the stamp.
+	private boolean find(long id) {
+		long[] currentKeys = keys;
+		int mask = currentKeys.length - 1;
+		int slot = hash(id) & mask;
+		for (int probes = 0; probes < currentKeys.length; probes++) {
+			long key = currentKeys[slot];
+			if (key == EMPTY) {
+				return false;
+			}
+			if (key == id) {
+				return true;
+			}
+			slot = (slot + 1) & mask;
+		}
+		return false;
+	}
+	
+	// Column 0 is quantity, 1 is max, 2 is the publisher ordinal. Safe to run without the lock:
+	// the arrays are read once into locals and the probe is bounded, the caller validates the stamp.
+	private long read(long id, int column) {
+		long[] currentKeys = keys;
+		int[] currentQuantities = quantities;
+		int[] currentMax = max;
+		byte[] currentPublishers = publishers;
+		int mask = currentKeys.length - 1;
+		int slot = hash(id) & mask;
+		for (int probes = 0; probes < currentKeys.length; probes++) {
+			long key = currentKeys[slot];
+			if (key == EMPTY) {
+				return ABSENT;
+			}
+			if (key == id) {
+				if (column == 0) {
+					return slot < currentQuantities.length ? currentQuantities[slot] : ABSENT;
+				}
+				if (column == 1) {
+					return slot < currentMax.length ? currentMax[slot] : ABSENT;
+				}
+				return slot < currentPublishers.length ? currentPublishers[slot] : ABSENT;
+			}
+			slot = (slot + 1) & mask;
+		}
+		return ABSENT;
+	}
+	
+	private void move(int from, int to) {
+		keys[to] = keys[from];
+		quantities[to] = quantities[from];
+		max[to] = max[from];
+		publishers[to] = publishers[from];
+	}
+	
+	private void resize(int capacity) {
+		long[] oldKeys = keys;
+		int[] oldQuantities = quantities;
+		int[] oldMax = max;
+		byte[] oldPublishers = publishers;
+		allocate(capacity);
+		for (int slot = 0; slot < oldKeys.length; slot++) {
+			if (oldKeys[slot] != EMPTY) {
+				int newSlot = slotFor(keys, oldKeys[slot]);
+				keys[newSlot] = oldKeys[slot];
+				quantities[newSlot] = oldQuantities[slot];
+				max[newSlot] = oldMax[slot];
+				publishers[newSlot] = oldPublishers[slot];
+				size++;
+			}
+		}
+	}
+	
+	private void allocate(int capacity) {
+		keys = new long[capacity];
+		quantities = new int[capacity];
+		max = new int[capacity];
+		publishers = new byte[capacity];
+		size = 0;
+	}
+	
+	private static int slotFor(long[] keys, long id) {
+		int mask = keys.length - 1;
+		int slot = hash(id) & mask;
+		while (keys[slot] != EMPTY && keys[slot] != id) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+	
+	private static int capacityFor(int expected) {
+		int capacity = 16;
+		while (capacity * MAX_LOAD < expected) {
+			capacity <<= 1;
+		}
+		return capacity;
+	}
+	
+	private static int hash(long id) {
+		long hash = id * 0x9E3779B97F4A7C15L;
+		return (int) (hash ^ (hash >>> 32));
+	}
+}
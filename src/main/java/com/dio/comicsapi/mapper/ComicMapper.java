@@ -1,5 +1,6 @@
 package com.dio.comicsapi.mapper;
 
+import org.mapstruct.DecoratedWith;
 import org.mapstruct.Mapper;
 import org.mapstruct.factory.Mappers;
 
@@ -7,6 +8,7 @@ import com.dio.comicsapi.dto.ComicDTO;
 import com.dio.comicsapi.entity.Comic;
 
 @Mapper
+@DecoratedWith(ComicMapperDecorator.class)
 public interface ComicMapper {
 	
 	ComicMapper INSTANCE = Mappers.getMapper(ComicMapper.class);
@@ -0,0 +1,40 @@
+package com.dio.comicsapi.mapper;
+
+import com.dio.comicsapi.dto.ComicDTO;
+import com.dio.comicsapi.entity.Comic;
+import com.dio.comicsapi.profiling.RequestProfiler;
+
+public abstract class ComicMapperDecorator implements ComicMapper {
+
+	private final ComicMapper delegate;
+	
+	public ComicMapperDecorator(ComicMapper delegate) {
+		this.delegate = delegate;
+	}
+	
+	@Override
+	public Comic toModel(ComicDTO comicDTO) {
+		if (!RequestProfiler.isActive()) {
+			return delegate.toModel(comicDTO);
+		}
+		long start = System.nanoTime();
+		try {
+			return delegate.toModel(comicDTO);
+		} finally {
+			RequestProfiler.addMapperNanos(System.nanoTime() - start);
+		}
+	}
+	
+	@Override
+	public ComicDTO toDTO(Comic comic) {
+		if (!RequestProfiler.isActive()) {
+			return delegate.toDTO(comic);
+		}
+		long start = System.nanoTime();
+		try {
+			return delegate.toDTO(comic);
+		} finally {
+			RequestProfiler.addMapperNanos(System.nanoTime() - start);
+		}
+	}
+}
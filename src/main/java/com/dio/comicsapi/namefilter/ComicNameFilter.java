@@ -0,0 +1,89 @@
+package com.dio.comicsapi.namefilter;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Answers "maybe" for every name until the first rebuild, so an unbuilt or disabled filter never skips the database.
+@Component
+@EnableConfigurationProperties(ComicNameFilterProperties.class)
+public class ComicNameFilter {
+
+	private final ComicNameFilterProperties comicNameFilterProperties;
+	
+	private final AtomicLong names = new AtomicLong();
+	
+	private final Counter absentChecks;
+	
+	private final Counter maybePresentChecks;
+	
+	private volatile CountingBloomFilter bloomFilter;
+	
+	public ComicNameFilter(ComicNameFilterProperties comicNameFilterProperties, MeterRegistry meterRegistry) {
+		this.comicNameFilterProperties = comicNameFilterProperties;
+		this.absentChecks = meterRegistry.counter("comics.name-filter.checks", "result", "absent");
+		this.maybePresentChecks = meterRegistry.counter("comics.name-filter.checks", "result", "maybe");
+		Gauge.builder("comics.name-filter.memory", this, filter -> filter.bloomFilter != null ? filter.bloomFilter.memoryBytes() : 0)
+				.baseUnit("bytes")
+				.register(meterRegistry);
+		Gauge.builder("comics.name-filter.expected-false-positive-rate", this,
+				filter -> filter.bloomFilter != null ? filter.bloomFilter.expectedFalsePositiveRate(filter.names.get()) : 1.0)
+				.register(meterRegistry);
+	}
+	
+	public boolean mightContain(String name) {
+		CountingBloomFilter current = bloomFilter;
+		if (current == null || current.mightContain(name)) {
+			maybePresentChecks.increment();
+			return true;
+		}
+		absentChecks.increment();
+		return false;
+	}
+	
+	public void add(String name) {
+		CountingBloomFilter current = bloomFilter;
+		if (current != null) {
+			current.add(name);
+			names.incrementAndGet();
+		}
+	}
+	
+	// Removing before the delete commits would turn a rollback into a false "absent".
+	public void removeAfterCommit(String name) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			remove(name);
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				remove(name);
+			}
+		});
+	}
+	
+	public void rebuild(Collection<String> currentNames) {
+		CountingBloomFilter rebuilt = new CountingBloomFilter(
+				Math.max(comicNameFilterProperties.getExpectedNames(), currentNames.size()), comicNameFilterProperties.getFalsePositiveRate());
+		currentNames.forEach(rebuilt::add);
+		names.set(currentNames.size());
+		bloomFilter = rebuilt;
+	}
+	
+	private void remove(String name) {
+		CountingBloomFilter current = bloomFilter;
+		if (current != null) {
+			current.remove(name);
+			names.decrementAndGet();
+		}
+	}
+}
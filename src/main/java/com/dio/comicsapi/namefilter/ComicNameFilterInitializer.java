@@ -0,0 +1,29 @@
+package com.dio.comicsapi.namefilter;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import com.dio.comicsapi.repository.ComicRepository;
+
+import lombok.RequiredArgsConstructor;
+
+// Runs once all singletons exist and before the web server starts, so no request can race the initial build.
+@Component
+@Lazy(false)
+@RequiredArgsConstructor
+public class ComicNameFilterInitializer implements SmartInitializingSingleton {
+
+	private final ComicRepository comicRepository;
+	
+	private final ComicNameFilter comicNameFilter;
+	
+	private final ComicNameFilterProperties comicNameFilterProperties;
+	
+	@Override
+	public void afterSingletonsInstantiated() {
+		if (comicNameFilterProperties.isEnabled()) {
+			comicNameFilter.rebuild(comicRepository.findAllNames());
+		}
+	}
+}
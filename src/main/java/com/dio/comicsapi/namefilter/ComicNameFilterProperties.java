@@ -0,0 +1,16 @@
+package com.dio.comicsapi.namefilter;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "comics.name-filter")
+public class ComicNameFilterProperties {
+
+	private boolean enabled = true;
+	
+	private long expectedNames = 1_000_000;
+	
+	private double falsePositiveRate = 0.01;
+}
@@ -0,0 +1,125 @@
+package com.dio.comicsapi.namefilter;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Bloom filter with 4-bit saturating counters packed 16 per long, so names can be removed again.
+// A counter that reaches 15 is never decremented, which can only cost false positives.
+public class CountingBloomFilter {
+
+	private static final int COUNTERS_PER_WORD = 16;
+	
+	private static final long COUNTER_MASK = 0xFL;
+	
+	private final AtomicLongArray words;
+	
+	private final long counters;
+	
+	private final int hashes;
+	
+	public CountingBloomFilter(long expectedInsertions, double falsePositiveRate) {
+		long expected = Math.max(1, expectedInsertions);
+		long optimalCounters = (long) Math.ceil(-expected * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+		this.counters = Math.max(COUNTERS_PER_WORD, optimalCounters);
+		this.hashes = Math.max(1, (int) Math.round((double) counters / expected * Math.log(2)));
+		this.words = new AtomicLongArray(Math.toIntExact((counters + COUNTERS_PER_WORD - 1) / COUNTERS_PER_WORD));
+	}
+	
+	public void add(String value) {
+		long hash = hash(value);
+		int h1 = (int) hash;
+		int h2 = (int) (hash >>> 32);
+		for (int i = 0; i < hashes; i++) {
+			increment(index(h1, h2, i));
+		}
+	}
+	
+	public void remove(String value) {
+		long hash = hash(value);
+		int h1 = (int) hash;
+		int h2 = (int) (hash >>> 32);
+		for (int i = 0; i < hashes; i++) {
+			decrement(index(h1, h2, i));
+		}
+	}
+	
+	public boolean mightContain(String value) {
+		long hash = hash(value);
+		int h1 = (int) hash;
+		int h2 = (int) (hash >>> 32);
+		for (int i = 0; i < hashes; i++) {
+			long index = index(h1, h2, i);
+			if (counter(words.get(word(index)), index) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	public long memoryBytes() {
+		return (long) words.length() * Long.BYTES;
+	}
+	
+	public double expectedFalsePositiveRate(long insertions) {
+		return Math.pow(1 - Math.exp(-(double) hashes * insertions / counters), hashes);
+	}
+	
+	private void increment(long index) {
+		int word = word(index);
+		long shift = shift(index);
+		while (true) {
+			long current = words.get(word);
+			if (counter(current, index) == COUNTER_MASK) {
+				return;
+			}
+			if (words.compareAndSet(word, current, current + (1L << shift))) {
+				return;
+			}
+		}
+	}
+	
+	private void decrement(long index) {
+		int word = word(index);
+		long shift = shift(index);
+		while (true) {
+			long current = words.get(word);
+			long counter = counter(current, index);
+			if (counter == 0 || counter == COUNTER_MASK) {
+				return;
+			}
+			if (words.compareAndSet(word, current, current - (1L << shift))) {
+				return;
+			}
+		}
+	}
+	
+	private long index(int h1, int h2, int i) {
+		return Math.floorMod(h1 + (long) i * h2, counters);
+	}
+	
+	private static int word(long index) {
+		return (int) (index / COUNTERS_PER_WORD);
+	}
+	
+	private static long shift(long index) {
+		return (index % COUNTERS_PER_WORD) * 4;
+	}
+	
+	private static long counter(long word, long index) {
+		return (word >>> shift(index)) & COUNTER_MASK;
+	}
+	
+	// FNV-1a over the UTF-16 chars followed by the MurmurHash3 finaliser.
+	private static long hash(String value) {
+		long hash = 0xcbf29ce484222325L;
+		for (int i = 0; i < value.length(); i++) {
+			hash ^= value.charAt(i);
+			hash *= 0x100000001b3L;
+		}
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		hash ^= hash >>> 33;
+		hash *= 0xc4ceb9fe1a85ec53L;
+		hash ^= hash >>> 33;
+		return hash;
+	}
+}
@@ -0,0 +1,42 @@
+package com.dio.comicsapi.outbox;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import com.dio.comicsapi.entity.OutboxEvent;
+
+// Appends one JSON line per event and fsyncs once per batch.
+public class FileStockEventSink implements StockEventSink {
+
+	private final Path file;
+	
+	public FileStockEventSink(Path file) {
+		this.file = file;
+	}
+	
+	@Override
+	public synchronized void publish(List<OutboxEvent> events) throws IOException {
+		if (file.getParent() != null) {
+			Files.createDirectories(file.getParent());
+		}
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+			StringBuilder lines = new StringBuilder(events.size() * 128);
+			for (OutboxEvent event : events) {
+				lines.append("{\"id\":").append(event.getId())
+						.append(",\"comicId\":").append(event.getComicId())
+						.append(",\"type\":\"").append(event.getType())
+						.append("\",\"quantityDelta\":").append(event.getQuantityDelta())
+						.append(",\"quantityAfter\":").append(event.getQuantityAfter())
+						.append(",\"occurredAt\":\"").append(event.getOccurredAt())
+						.append("\"}\n");
+			}
+			channel.write(StandardCharsets.UTF_8.encode(lines.toString()));
+			channel.force(false);
+		}
+	}
+}
@@ -0,0 +1,37 @@
+package com.dio.comicsapi.outbox;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import com.dio.comicsapi.entity.OutboxEvent;
+
+public class InMemoryStockEventSink implements StockEventSink {
+
+	private final int capacity;
+	
+	private final Deque<OutboxEvent> events = new ArrayDeque<>();
+	
+	public InMemoryStockEventSink(int capacity) {
+		this.capacity = capacity;
+	}
+	
+	@Override
+	public synchronized void publish(List<OutboxEvent> batch) {
+		for (OutboxEvent event : batch) {
+			if (events.size() == capacity) {
+				events.removeFirst();
+			}
+			events.addLast(event);
+		}
+	}
+	
+	public synchronized List<OutboxEvent> getEvents() {
+		return new ArrayList<>(events);
+	}
+	
+	public synchronized void clear() {
+		events.clear();
+	}
+}
@@ -0,0 +1,41 @@
+package com.dio.comicsapi.outbox;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import com.dio.comicsapi.repository.OutboxEventRepository;
+import com.dio.comicsapi.sharding.ShardRouter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxConfig {
+
+	@Bean
+	@ConditionalOnMissingBean
+	public StockEventSink stockEventSink(OutboxProperties outboxProperties) {
+		if ("file".equals(outboxProperties.getSink())) {
+			return new FileStockEventSink(outboxProperties.getFile());
+		}
+		return new InMemoryStockEventSink(outboxProperties.getMemoryCapacity());
+	}
+	
+	// Nothing injects the relay, so under lazy initialization it would never be created and never scheduled.
+	@Bean
+	@Lazy(false)
+	@ConditionalOnProperty(prefix = "comics.outbox.relay", name = "enabled", havingValue = "true", matchIfMissing = true)
+	public OutboxRelay outboxRelay(OutboxEventRepository outboxEventRepository, StockEventSink stockEventSink,
+			OutboxProperties outboxProperties, ObjectProvider<ShardRouter> shardRouter, MeterRegistry meterRegistry) {
+		ShardRouter router = shardRouter.getIfAvailable();
+		return new OutboxRelay(outboxEventRepository, stockEventSink, outboxProperties.getBatchSize(),
+				router != null ? router.getShardCount() : 1, meterRegistry);
+	}
+}
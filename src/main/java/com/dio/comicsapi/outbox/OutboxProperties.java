@@ -0,0 +1,21 @@
+package com.dio.comicsapi.outbox;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "comics.outbox")
+public class OutboxProperties {
+
+	private String sink = "memory";
+	
+	private Path file = Paths.get("comic-stock-events.ndjson");
+	
+	private int memoryCapacity = 10_000;
+	
+	private int batchSize = 500;
+}
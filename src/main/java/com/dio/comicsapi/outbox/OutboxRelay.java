@@ -0,0 +1,85 @@
+package com.dio.comicsapi.outbox;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.dio.comicsapi.entity.OutboxEvent;
+import com.dio.comicsapi.repository.OutboxEventRepository;
+import com.dio.comicsapi.sharding.ShardContext;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class OutboxRelay {
+
+	private final OutboxEventRepository outboxEventRepository;
+	
+	private final StockEventSink stockEventSink;
+	
+	private final int batchSize;
+	
+	private final int shardCount;
+	
+	private final Counter relayedEvents;
+	
+	private final Counter failedBatches;
+	
+	private final DistributionSummary batchSizes;
+	
+	private final Timer batchTimer;
+	
+	public OutboxRelay(OutboxEventRepository outboxEventRepository, StockEventSink stockEventSink, int batchSize, int shardCount, MeterRegistry meterRegistry) {
+		this.outboxEventRepository = outboxEventRepository;
+		this.stockEventSink = stockEventSink;
+		this.batchSize = batchSize;
+		this.shardCount = shardCount;
+		this.relayedEvents = meterRegistry.counter("comics.outbox.relayed");
+		this.failedBatches = meterRegistry.counter("comics.outbox.failed.batches");
+		this.batchSizes = meterRegistry.summary("comics.outbox.batch.size");
+		this.batchTimer = meterRegistry.timer("comics.outbox.batch.duration");
+	}
+	
+	@Scheduled(fixedDelayString = "${comics.outbox.relay.interval:500}")
+	public synchronized int relay() {
+		int relayed = 0;
+		for (int shard = 0; shard < shardCount; shard++) {
+			relayed += ShardContext.callOn(shard, this::drain);
+		}
+		return relayed;
+	}
+	
+	// Events are published in id order and only deleted after the sink accepts the batch,
+	// so a failure or crash redelivers from the first unacknowledged event.
+	private int drain() {
+		int relayed = 0;
+		List<OutboxEvent> batch;
+		do {
+			batch = outboxEventRepository.findAllByOrderByIdAsc(PageRequest.of(0, batchSize));
+			if (batch.isEmpty()) {
+				break;
+			}
+			long start = System.nanoTime();
+			try {
+				stockEventSink.publish(batch);
+			} catch (Exception e) {
+				failedBatches.increment();
+				log.warn("Could not publish {} stock events, retrying on the next run", batch.size(), e);
+				return relayed;
+			}
+			outboxEventRepository.deleteAllByIdInBatch(batch.stream().map(OutboxEvent::getId).collect(Collectors.toList()));
+			batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+			batchSizes.record(batch.size());
+			relayedEvents.increment(batch.size());
+			relayed += batch.size();
+		} while (batch.size() == batchSize);
+		return relayed;
+	}
+}
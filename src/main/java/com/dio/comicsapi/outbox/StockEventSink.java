@@ -0,0 +1,11 @@
+package com.dio.comicsapi.outbox;
+
+import java.util.List;
+
+import com.dio.comicsapi.entity.OutboxEvent;
+
+public interface StockEventSink {
+
+	// Must only return once the whole batch is durably accepted; the relay deletes the events afterwards.
+	void publish(List<OutboxEvent> events) throws Exception;
+}
@@ -0,0 +1,39 @@
+package com.dio.comicsapi.profiling;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import lombok.RequiredArgsConstructor;
+
+@Endpoint(id = "comicsprofile")
+@RequiredArgsConstructor
+public class ComicsProfileEndpoint {
+
+	private final ProfileRecorder profileRecorder;
+	
+	@ReadOperation
+	public Map<String, Object> profile() {
+		List<RequestProfile> recent = profileRecorder.recent();
+		Map<String, Map<String, Object>> byEndpoint = new TreeMap<>();
+		recent.stream().collect(Collectors.groupingBy(RequestProfile::getEndpoint)).forEach((endpoint, profiles) -> {
+			Map<String, Object> summary = new LinkedHashMap<>();
+			summary.put("requests", profiles.size());
+			summary.put("maxSqlStatements", profiles.stream().mapToInt(RequestProfile::getSqlStatements).max().orElse(0));
+			summary.put("avgSqlStatements", profiles.stream().mapToInt(RequestProfile::getSqlStatements).average().orElse(0));
+			summary.put("avgJdbcMicros", profiles.stream().mapToLong(RequestProfile::getJdbcNanos).average().orElse(0) / 1_000);
+			summary.put("avgMapperMicros", profiles.stream().mapToLong(RequestProfile::getMapperNanos).average().orElse(0) / 1_000);
+			summary.put("avgAllocatedBytes", profiles.stream().mapToLong(RequestProfile::getAllocatedBytes).average().orElse(0));
+			byEndpoint.put(endpoint, summary);
+		});
+		Map<String, Object> profile = new LinkedHashMap<>();
+		profile.put("byEndpoint", byEndpoint);
+		profile.put("recent", recent);
+		return profile;
+	}
+}
@@ -0,0 +1,28 @@
+package com.dio.comicsapi.profiling;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+public class ProfileRecorder {
+
+	private final int capacity;
+	
+	private final Deque<RequestProfile> recent = new ArrayDeque<>();
+	
+	public ProfileRecorder(int capacity) {
+		this.capacity = capacity;
+	}
+	
+	public synchronized void record(RequestProfile profile) {
+		if (recent.size() == capacity) {
+			recent.removeFirst();
+		}
+		recent.addLast(profile);
+	}
+	
+	public synchronized List<RequestProfile> recent() {
+		return new ArrayList<>(recent);
+	}
+}
@@ -0,0 +1,43 @@
+package com.dio.comicsapi.profiling;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "comics.profiling", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ProfilingProperties.class)
+public class ProfilingConfig {
+
+	@Bean
+	public static BeanPostProcessor profilingDataSourcePostProcessor() {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				return bean instanceof DataSource && !(bean instanceof ProfilingDataSource) ? new ProfilingDataSource((DataSource) bean) : bean;
+			}
+		};
+	}
+	
+	@Bean
+	public ProfileRecorder profileRecorder(ProfilingProperties profilingProperties) {
+		return new ProfileRecorder(profilingProperties.getRecentRequests());
+	}
+	
+	@Bean
+	public FilterRegistrationBean<RequestProfilingFilter> requestProfilingFilter(ProfileRecorder profileRecorder) {
+		FilterRegistrationBean<RequestProfilingFilter> registration = new FilterRegistrationBean<>(new RequestProfilingFilter(profileRecorder));
+		registration.addUrlPatterns("/api/*");
+		return registration;
+	}
+	
+	@Bean
+	public ComicsProfileEndpoint comicsProfileEndpoint(ProfileRecorder profileRecorder) {
+		return new ComicsProfileEndpoint(profileRecorder);
+	}
+}
@@ -0,0 +1,81 @@
+package com.dio.comicsapi.profiling;
+
+import java.io.Closeable;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+// Times every execute* call on statements handed out by the wrapped DataSource.
+public class ProfilingDataSource extends DelegatingDataSource implements Closeable {
+
+	public ProfilingDataSource(DataSource targetDataSource) {
+		super(targetDataSource);
+	}
+	
+	@Override
+	public Connection getConnection() throws SQLException {
+		return profiled(super.getConnection());
+	}
+	
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return profiled(super.getConnection(username, password));
+	}
+	
+	@Override
+	public void close() {
+		DataSource target = getTargetDataSource();
+		try {
+			if (target instanceof DisposableBean) {
+				((DisposableBean) target).destroy();
+			} else if (target instanceof AutoCloseable) {
+				((AutoCloseable) target).close();
+			}
+		} catch (Exception e) {
+			throw new IllegalStateException("Could not close the profiled DataSource", e);
+		}
+	}
+	
+	private static Connection profiled(Connection connection) {
+		return (Connection) Proxy.newProxyInstance(ProfilingDataSource.class.getClassLoader(), new Class<?>[] { Connection.class },
+				(proxy, method, args) -> {
+					Object result = invoke(connection, method, args);
+					return result instanceof Statement ? profiled((Statement) result) : result;
+				});
+	}
+	
+	private static Statement profiled(Statement statement) {
+		Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+				: statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+		return (Statement) Proxy.newProxyInstance(ProfilingDataSource.class.getClassLoader(), new Class<?>[] { type },
+				(proxy, method, args) -> {
+					if (!method.getName().startsWith("execute")) {
+						return invoke(statement, method, args);
+					}
+					long start = System.nanoTime();
+					try {
+						return invoke(statement, method, args);
+					} finally {
+						RequestProfiler.addJdbcNanos(System.nanoTime() - start);
+					}
+				});
+	}
+	
+	private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+		try {
+			return method.invoke(target, args);
+		} catch (InvocationTargetException e) {
+			throw e.getTargetException();
+		}
+	}
+}
@@ -0,0 +1,14 @@
+package com.dio.comicsapi.profiling;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "comics.profiling")
+public class ProfilingProperties {
+
+	private boolean enabled;
+	
+	private int recentRequests = 200;
+}
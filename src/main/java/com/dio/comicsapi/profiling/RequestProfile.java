@@ -0,0 +1,21 @@
+package com.dio.comicsapi.profiling;
+
+import lombok.Data;
+
+@Data
+public class RequestProfile {
+
+	private String endpoint;
+	
+	private int status;
+	
+	private int sqlStatements;
+	
+	private long jdbcNanos;
+	
+	private long mapperNanos;
+	
+	private long allocatedBytes;
+	
+	private long totalNanos;
+}
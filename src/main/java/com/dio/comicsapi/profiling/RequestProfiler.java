@@ -0,0 +1,72 @@
+package com.dio.comicsapi.profiling;
+
+import java.lang.management.ManagementFactory;
+
+import com.dio.comicsapi.diagnostics.StatementCounter;
+
+// Thread-bound accumulator for the request being profiled; every hook is a no-op when no profile is active.
+public final class RequestProfiler {
+
+	private static final ThreadLocal<RequestProfile> CURRENT = new ThreadLocal<>();
+	
+	private static final com.sun.management.ThreadMXBean THREADS = threadMXBean();
+	
+	private static final ThreadLocal<long[]> STARTS = new ThreadLocal<>();
+	
+	private RequestProfiler() {
+	}
+	
+	public static void start() {
+		CURRENT.set(new RequestProfile());
+		STARTS.set(new long[] { System.nanoTime(), allocatedBytes() });
+		StatementCounter.reset();
+	}
+	
+	public static RequestProfile finish() {
+		RequestProfile profile = CURRENT.get();
+		long[] starts = STARTS.get();
+		CURRENT.remove();
+		STARTS.remove();
+		if (profile == null) {
+			return null;
+		}
+		profile.setTotalNanos(System.nanoTime() - starts[0]);
+		profile.setAllocatedBytes(starts[1] < 0 ? -1 : allocatedBytes() - starts[1]);
+		profile.setSqlStatements(StatementCounter.current());
+		return profile;
+	}
+	
+	public static boolean isActive() {
+		return CURRENT.get() != null;
+	}
+	
+	public static void addJdbcNanos(long nanos) {
+		RequestProfile profile = CURRENT.get();
+		if (profile != null) {
+			profile.setJdbcNanos(profile.getJdbcNanos() + nanos);
+		}
+	}
+	
+	public static void addMapperNanos(long nanos) {
+		RequestProfile profile = CURRENT.get();
+		if (profile != null) {
+			profile.setMapperNanos(profile.getMapperNanos() + nanos);
+		}
+	}
+	
+	private static long allocatedBytes() {
+		return THREADS != null ? THREADS.getThreadAllocatedBytes(Thread.currentThread().getId()) : -1;
+	}
+	
+	private static com.sun.management.ThreadMXBean threadMXBean() {
+		java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		if (threads instanceof com.sun.management.ThreadMXBean) {
+			com.sun.management.ThreadMXBean hotspotThreads = (com.sun.management.ThreadMXBean) threads;
+			if (hotspotThreads.isThreadAllocatedMemorySupported()) {
+				hotspotThreads.setThreadAllocatedMemoryEnabled(true);
+				return hotspotThreads;
+			}
+		}
+		return null;
+	}
+}
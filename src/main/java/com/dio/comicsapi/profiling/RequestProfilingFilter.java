@@ -0,0 +1,52 @@
+package com.dio.comicsapi.profiling;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import lombok.RequiredArgsConstructor;
+
+// The body is buffered so the headers can still be added once the handler has finished.
+@RequiredArgsConstructor
+public class RequestProfilingFilter extends OncePerRequestFilter {
+
+	public static final String SQL_STATEMENTS_HEADER = "X-Comics-Sql-Statements";
+	
+	public static final String JDBC_TIME_HEADER = "X-Comics-Jdbc-Micros";
+	
+	public static final String MAPPER_TIME_HEADER = "X-Comics-Mapper-Micros";
+	
+	public static final String ALLOCATED_BYTES_HEADER = "X-Comics-Allocated-Bytes";
+	
+	private final ProfileRecorder profileRecorder;
+	
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+		RequestProfiler.start();
+		RequestProfile profile;
+		try {
+			filterChain.doFilter(request, cachingResponse);
+		} finally {
+			profile = RequestProfiler.finish();
+		}
+		Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		profile.setEndpoint(request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI()));
+		profile.setStatus(cachingResponse.getStatus());
+		profileRecorder.record(profile);
+		cachingResponse.setHeader(SQL_STATEMENTS_HEADER, String.valueOf(profile.getSqlStatements()));
+		cachingResponse.setHeader(JDBC_TIME_HEADER, String.valueOf(TimeUnit.NANOSECONDS.toMicros(profile.getJdbcNanos())));
+		cachingResponse.setHeader(MAPPER_TIME_HEADER, String.valueOf(TimeUnit.NANOSECONDS.toMicros(profile.getMapperNanos())));
+		cachingResponse.setHeader(ALLOCATED_BYTES_HEADER, String.valueOf(profile.getAllocatedBytes()));
+		cachingResponse.copyBodyToResponse();
+	}
+}
@@ -0,0 +1,63 @@
+package com.dio.comicsapi.ratelimit;
+
+// AIMD limit: grows by roughly one per window of fast calls, shrinks by 10% at most once per window of slow ones.
+// A slow call only backs off again if it started after the previous decrease; calls already in flight then were
+// admitted under the old limit and say nothing about the new one.
+public class AdaptiveConcurrencyLimiter {
+
+	private static final double BACKOFF_RATIO = 0.9;
+	
+	private final int minLimit;
+	
+	private final int maxLimit;
+	
+	private final long latencyTargetNanos;
+	
+	private double limit;
+	
+	private int inFlight;
+	
+	private boolean decreased;
+	
+	private long lastDecreaseNanos;
+	
+	public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long latencyTargetNanos) {
+		this.minLimit = minLimit;
+		this.maxLimit = maxLimit;
+		this.latencyTargetNanos = latencyTargetNanos;
+		this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+	}
+	
+	public synchronized boolean tryAcquire() {
+		if (inFlight >= (int) limit) {
+			return false;
+		}
+		inFlight++;
+		return true;
+	}
+	
+	public void release(long latencyNanos) {
+		release(latencyNanos, System.nanoTime());
+	}
+	
+	synchronized void release(long latencyNanos, long nowNanos) {
+		inFlight--;
+		if (latencyNanos > latencyTargetNanos) {
+			if (!decreased || nowNanos - latencyNanos - lastDecreaseNanos >= 0) {
+				limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+				decreased = true;
+				lastDecreaseNanos = nowNanos;
+			}
+		} else {
+			limit = Math.min(maxLimit, limit + 1.0 / limit);
+		}
+	}
+	
+	public synchronized int getLimit() {
+		return (int) limit;
+	}
+	
+	public synchronized int getInFlight() {
+		return inFlight;
+	}
+}
@@ -0,0 +1,33 @@
+package com.dio.comicsapi.ratelimit;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+
+@Configuration
+@ConditionalOnProperty(prefix = "comics.rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(RateLimitProperties.class)
+@RequiredArgsConstructor
+public class RateLimitConfig implements WebMvcConfigurer {
+
+	private final RateLimitProperties rateLimitProperties;
+	
+	private final MeterRegistry meterRegistry;
+	
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		RateLimitProperties.Concurrency concurrency = rateLimitProperties.getConcurrency();
+		AdaptiveConcurrencyLimiter concurrencyLimiter = new AdaptiveConcurrencyLimiter(concurrency.getInitialLimit(),
+				concurrency.getMinLimit(), concurrency.getMaxLimit(), concurrency.getLatencyTarget().toNanos());
+		registry.addInterceptor(new RateLimitInterceptor(rateLimitProperties, concurrencyLimiter, meterRegistry))
+				.addPathPatterns("/api/**")
+				// An upload lasts as long as the client takes to send it, which would read as overload to the limiter.
+				.excludePathPatterns("/api/v1/comic/imports")
+				.order(0);
+	}
+}
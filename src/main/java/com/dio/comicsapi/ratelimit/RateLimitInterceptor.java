@@ -0,0 +1,127 @@
+package com.dio.comicsapi.ratelimit;
+
+import java.security.Principal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+	private static final String START_ATTRIBUTE = RateLimitInterceptor.class.getName() + ".start";
+	
+	private final RateLimitProperties rateLimitProperties;
+	
+	private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+	
+	private final MeterRegistry meterRegistry;
+	
+	// Access-ordered and capped, so rotating through client keys only evicts the least recently seen buckets.
+	private final Map<String, ClientBuckets> clientBuckets;
+	
+	public RateLimitInterceptor(RateLimitProperties rateLimitProperties, AdaptiveConcurrencyLimiter concurrencyLimiter, MeterRegistry meterRegistry) {
+		this.rateLimitProperties = rateLimitProperties;
+		this.concurrencyLimiter = concurrencyLimiter;
+		this.meterRegistry = meterRegistry;
+		this.clientBuckets = new LinkedHashMap<String, ClientBuckets>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, ClientBuckets> eldest) {
+				return size() > rateLimitProperties.getMaxTrackedClients();
+			}
+		};
+		Gauge.builder("comics.concurrency.limit", concurrencyLimiter, AdaptiveConcurrencyLimiter::getLimit).register(meterRegistry);
+		Gauge.builder("comics.concurrency.in-flight", concurrencyLimiter, AdaptiveConcurrencyLimiter::getInFlight).register(meterRegistry);
+	}
+	
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		if (!(handler instanceof HandlerMethod)) {
+			return true;
+		}
+		String endpoint = ((HandlerMethod) handler).getMethod().getName();
+		// Endpoint limits are per-client overrides: one client exhausting an endpoint leaves it open to everyone else.
+		ClientBuckets buckets = clientBuckets(request);
+		if (!buckets.overall.tryConsume()) {
+			return reject(response, endpoint, "client_rate_limited", HttpStatus.TOO_MANY_REQUESTS, buckets.overall);
+		}
+		TokenBucket endpointBucket = buckets.endpoint(endpoint);
+		if (endpointBucket != null && !endpointBucket.tryConsume()) {
+			return reject(response, endpoint, "endpoint_rate_limited", HttpStatus.TOO_MANY_REQUESTS, endpointBucket);
+		}
+		if (!concurrencyLimiter.tryAcquire()) {
+			if (endpointBucket != null) {
+				endpointBucket.refund();
+			}
+			return reject(response, endpoint, "shed", HttpStatus.SERVICE_UNAVAILABLE, null);
+		}
+		request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+		meterRegistry.counter("comics.requests", "endpoint", endpoint, "outcome", "admitted").increment();
+		return true;
+	}
+	
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+		Object start = request.getAttribute(START_ATTRIBUTE);
+		if (start != null) {
+			concurrencyLimiter.release(System.nanoTime() - (Long) start);
+		}
+	}
+	
+	// Keyed on something the caller cannot choose per request: the authenticated principal, else the remote address
+	// (which server.forward-headers-strategy resolves from trusted proxy headers when deployed behind one).
+	private ClientBuckets clientBuckets(HttpServletRequest request) {
+		Principal principal = request.getUserPrincipal();
+		String client = principal != null ? "principal:" + principal.getName() : "address:" + request.getRemoteAddr();
+		synchronized (clientBuckets) {
+			return clientBuckets.computeIfAbsent(client, key -> new ClientBuckets(rateLimitProperties));
+		}
+	}
+	
+	private boolean reject(HttpServletResponse response, String endpoint, String outcome, HttpStatus status, TokenBucket bucket) {
+		meterRegistry.counter("comics.requests", "endpoint", endpoint, "outcome", outcome).increment();
+		response.setStatus(status.value());
+		if (bucket != null) {
+			response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(bucket.secondsUntilNextToken()));
+		}
+		return false;
+	}
+	
+	// Everything one client may spend, evicted together so the endpoint buckets stay under the same cap.
+	private static class ClientBuckets {
+		
+		private final RateLimitProperties rateLimitProperties;
+		
+		private final TokenBucket overall;
+		
+		private final Map<String, TokenBucket> endpoints = new ConcurrentHashMap<>();
+		
+		ClientBuckets(RateLimitProperties rateLimitProperties) {
+			this.rateLimitProperties = rateLimitProperties;
+			this.overall = bucket(rateLimitProperties.getClient());
+		}
+		
+		// Null for endpoints without a configured limit; computeIfAbsent stores nothing for them.
+		TokenBucket endpoint(String endpoint) {
+			return endpoints.computeIfAbsent(endpoint, key -> {
+				RateLimitProperties.Bucket bucket = rateLimitProperties.getEndpoints().get(key);
+				return bucket != null ? bucket(bucket) : null;
+			});
+		}
+		
+		private static TokenBucket bucket(RateLimitProperties.Bucket bucket) {
+			return new TokenBucket(bucket.getCapacity(), bucket.getRefillPerSecond());
+		}
+	}
+}
@@ -0,0 +1,48 @@
+package com.dio.comicsapi.ratelimit;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@ConfigurationProperties(prefix = "comics.rate-limit")
+public class RateLimitProperties {
+
+	private boolean enabled = true;
+	
+	private int maxTrackedClients = 10_000;
+	
+	private Bucket client = new Bucket(100, 50);
+	
+	private Map<String, Bucket> endpoints = new HashMap<>();
+	
+	private Concurrency concurrency = new Concurrency();
+	
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class Bucket {
+		
+		private long capacity;
+		
+		private double refillPerSecond;
+	}
+	
+	@Data
+	public static class Concurrency {
+		
+		private int initialLimit = 20;
+		
+		private int minLimit = 4;
+		
+		private int maxLimit = 200;
+		
+		private Duration latencyTarget = Duration.ofMillis(100);
+	}
+}
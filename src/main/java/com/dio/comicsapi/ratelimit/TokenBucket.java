@@ -0,0 +1,52 @@
+package com.dio.comicsapi.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+
+public class TokenBucket {
+
+	private final long capacity;
+	
+	private final double tokensPerNano;
+	
+	private double tokens;
+	
+	private long lastRefill;
+	
+	public TokenBucket(long capacity, double refillPerSecond) {
+		this.capacity = capacity;
+		this.tokensPerNano = refillPerSecond / TimeUnit.SECONDS.toNanos(1);
+		this.tokens = capacity;
+		this.lastRefill = System.nanoTime();
+	}
+	
+	public synchronized boolean tryConsume() {
+		refill();
+		if (tokens >= 1) {
+			tokens--;
+			return true;
+		}
+		return false;
+	}
+	
+	public synchronized long secondsUntilNextToken() {
+		refill();
+		if (tokens >= 1) {
+			return 0;
+		}
+		if (tokensPerNano <= 0) {
+			return Long.MAX_VALUE;
+		}
+		return Math.max(1, TimeUnit.NANOSECONDS.toSeconds((long) Math.ceil((1 - tokens) / tokensPerNano)));
+	}
+	
+	// Gives back a token taken for a request that a later check rejected.
+	public synchronized void refund() {
+		tokens = Math.min(capacity, tokens + 1);
+	}
+	
+	private void refill() {
+		long now = System.nanoTime();
+		tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+		lastRefill = now;
+	}
+}
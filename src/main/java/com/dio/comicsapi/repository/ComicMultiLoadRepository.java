@@ -0,0 +1,13 @@
+package com.dio.comicsapi.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import com.dio.comicsapi.entity.Comic;
+
+public interface ComicMultiLoadRepository {
+
+	// Unlike findAllById this checks the persistence context and the second-level cache first and only
+	// queries the ids it could not resolve there. Missing ids are left out of the result.
+	List<Comic> findAllCachedById(Collection<Long> ids);
+}
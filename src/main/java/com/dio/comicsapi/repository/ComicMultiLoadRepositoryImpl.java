@@ -0,0 +1,35 @@
+package com.dio.comicsapi.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.dio.comicsapi.entity.Comic;
+
+public class ComicMultiLoadRepositoryImpl implements ComicMultiLoadRepository {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+	
+	@Override
+	@Transactional(readOnly = true)
+	public List<Comic> findAllCachedById(Collection<Long> ids) {
+		return entityManager.unwrap(Session.class)
+				.byMultipleIds(Comic.class)
+				.with(CacheMode.NORMAL)
+				.enableSessionCheck(true)
+				.multiLoad(new ArrayList<>(ids))
+				.stream()
+				.filter(Objects::nonNull)
+				.collect(Collectors.toList());
+	}
+}
@@ -1,10 +1,34 @@
 package com.dio.comicsapi.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_REGION;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+
+import javax.persistence.QueryHint;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import com.dio.comicsapi.cache.ComicCacheRegions;
 import com.dio.comicsapi.entity.Comic;
 
-public interface ComicRepository extends JpaRepository<Comic,Long> {
+public interface ComicRepository extends JpaRepository<Comic,Long>, ComicMultiLoadRepository {
 
+	@QueryHints({
+		@QueryHint(name = HINT_CACHEABLE, value = "true"),
+		@QueryHint(name = HINT_CACHE_REGION, value = ComicCacheRegions.COMIC_BY_NAME)
+	})
 	Optional<Comic>findByName(String name);
+	
+	List<Comic> findByNameIn(Collection<String> names);
+	
+	@Query("select c.name from Comic c")
+	List<String> findAllNames();
+	
+	@Query("select c.id as id, c.quantity as quantity, c.max as max, c.publisher as publisher from Comic c")
+	List<ComicStockView> findAllStock();
 }
@@ -0,0 +1,14 @@
+package com.dio.comicsapi.repository;
+
+import com.dio.comicsapi.enums.Publisher;
+
+public interface ComicStockView {
+
+	Long getId();
+	
+	int getQuantity();
+	
+	int getMax();
+	
+	Publisher getPublisher();
+}
@@ -0,0 +1,13 @@
+package com.dio.comicsapi.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.dio.comicsapi.entity.OutboxEvent;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+	List<OutboxEvent> findAllByOrderByIdAsc(Pageable pageable);
+}
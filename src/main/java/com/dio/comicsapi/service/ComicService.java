@@ -1,82 +1,185 @@
 package com.dio.comicsapi.service;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.dio.comicsapi.dto.ComicDTO;
+import com.dio.comicsapi.dto.ComicLookupResultDTO;
 import com.dio.comicsapi.entity.Comic;
+import com.dio.comicsapi.entity.OutboxEvent;
+import com.dio.comicsapi.enums.StockEventType;
 import com.dio.comicsapi.exceptions.ComicAlreadyRegisteredException;
 import com.dio.comicsapi.exceptions.ComicNotFoundException;
 import com.dio.comicsapi.exceptions.ComicStockExceededException;
 import com.dio.comicsapi.exceptions.ComicWithInsufficientStockException;
+import com.dio.comicsapi.index.ComicIdIndex;
+import com.dio.comicsapi.index.ComicStockIndex;
 import com.dio.comicsapi.mapper.ComicMapper;
+import com.dio.comicsapi.namefilter.ComicNameFilter;
 import com.dio.comicsapi.repository.ComicRepository;
+import com.dio.comicsapi.repository.OutboxEventRepository;
 
 
 
 @Service
 public class ComicService {
 
+	private static final int LOOKUP_CHUNK_SIZE = 500;
+	
 	private ComicRepository comicRepository;
 	
+	private OutboxEventRepository outboxEventRepository;
+	
+	private ComicNameFilter comicNameFilter;
+	
+	private ComicIdIndex comicIdIndex;
+	
 	private final ComicMapper comicMapper = ComicMapper.INSTANCE;
 	
-	public ComicService(ComicRepository comicRepository) {
+	public ComicService(ComicRepository comicRepository, OutboxEventRepository outboxEventRepository, ComicNameFilter comicNameFilter,
+			ComicIdIndex comicIdIndex) {
 		this.comicRepository = comicRepository;
+		this.outboxEventRepository = outboxEventRepository;
+		this.comicNameFilter = comicNameFilter;
+		this.comicIdIndex = comicIdIndex;
 	}
 	
+	@Transactional
 	public ComicDTO createComic(ComicDTO comicDTO) throws ComicAlreadyRegisteredException {
 		verifyIfIsAlreadyRegistered(comicDTO.getName());
+		comicNameFilter.add(comicDTO.getName());
 		Comic comic = comicMapper.toModel(comicDTO);
 		Comic savedComic = comicRepository.save(comic);
+		recordStockChange(savedComic, StockEventType.CREATED, savedComic.getQuantity());
 		return comicMapper.toDTO(savedComic);
 	}
 	
 	public ComicDTO findByName(String name) throws ComicNotFoundException {
+		if (!comicNameFilter.mightContain(name)) {
+			throw new ComicNotFoundException(name);
+		}
 		Comic foundComic = comicRepository.findByName(name).orElseThrow(() -> new ComicNotFoundException(name));
 		return comicMapper.toDTO(foundComic);
 	}
 	
+	// Not transactional on purpose: the keys may live on different shards, and each chunked repository call is split
+	// so every shard runs one IN query over only the ids and names it owns. Ids ruled out by the id index and names
+	// ruled out by the name filter are reported missing without a query.
+	public ComicLookupResultDTO findAll(List<Long> ids, List<String> names) {
+		Map<Long, ComicDTO> foundComics = new LinkedHashMap<>();
+		List<Long> idsToLoad = ids.stream().distinct().filter(comicIdIndex::mightExist).collect(Collectors.toList());
+		for (List<Long> chunk : chunks(idsToLoad)) {
+			comicRepository.findAllCachedById(chunk).forEach(comic -> foundComics.put(comic.getId(), comicMapper.toDTO(comic)));
+		}
+		Set<String> foundNames = new HashSet<>();
+		List<String> namesToLoad = names.stream().distinct().filter(comicNameFilter::mightContain).collect(Collectors.toList());
+		for (List<String> chunk : chunks(namesToLoad)) {
+			comicRepository.findByNameIn(chunk).forEach(comic -> {
+				foundComics.putIfAbsent(comic.getId(), comicMapper.toDTO(comic));
+				foundNames.add(comic.getName());
+			});
+		}
+		return ComicLookupResultDTO.builder()
+				.comics(new ArrayList<>(foundComics.values()))
+				.missingIds(ids.stream().distinct().filter(id -> !foundComics.containsKey(id)).collect(Collectors.toList()))
+				.missingNames(names.stream().distinct().filter(name -> !foundNames.contains(name)).collect(Collectors.toList()))
+				.build();
+	}
+	
 	public List<ComicDTO> listAll(){
 		return comicRepository.findAll().stream().map(comicMapper::toDTO).collect(Collectors.toList());
 	}
 	
+	@Transactional
 	public void deleteById(Long id) throws ComicNotFoundException {
-		verifyIfExist(id);
+		Comic comicToDelete = verifyIfExist(id);
 		comicRepository.deleteById(id);
+		comicRepository.flush();
+		recordStockChange(id, StockEventType.DELETED, -comicToDelete.getQuantity(), 0);
+		comicNameFilter.removeAfterCommit(comicToDelete.getName());
 	}
 	
+	@Transactional
 	public ComicDTO increment(Long id, int quantityToIncrement) throws ComicNotFoundException, ComicStockExceededException {
+		// Rejected from the index without loading the comic. The index may already hold a concurrent write's uncommitted
+		// quantity, which is the one this write would queue behind on the row lock.
+		long indexedQuantity = comicIdIndex.quantity(id);
+		long indexedMax = comicIdIndex.max(id);
+		if (indexedQuantity != ComicStockIndex.ABSENT && indexedMax != ComicStockIndex.ABSENT && indexedQuantity + quantityToIncrement > indexedMax) {
+			throw new ComicStockExceededException(id, quantityToIncrement);
+		}
 		Comic comicToIncrementStock = verifyIfExist(id);
 		int quantityAfterIncrement = quantityToIncrement + comicToIncrementStock.getQuantity();
 		if (quantityAfterIncrement <= comicToIncrementStock.getMax()) {
 			comicToIncrementStock.setQuantity(comicToIncrementStock.getQuantity() + quantityToIncrement);
 			Comic incrementedComicStock = comicRepository.save(comicToIncrementStock);
+			comicRepository.flush();
+			recordStockChange(incrementedComicStock, StockEventType.INCREMENTED, quantityToIncrement);
 			return comicMapper.toDTO(incrementedComicStock);
 		}
 		throw new ComicStockExceededException(id, quantityToIncrement);
 	}
 	
+	@Transactional
 	public ComicDTO decrement(Long id, int quantityToDecrement) throws ComicNotFoundException, ComicWithInsufficientStockException {
+		long indexedQuantity = comicIdIndex.quantity(id);
+		long indexedMax = comicIdIndex.max(id);
+		if (indexedQuantity != ComicStockIndex.ABSENT && indexedMax != ComicStockIndex.ABSENT && indexedQuantity - quantityToDecrement > indexedMax) {
+			throw new ComicWithInsufficientStockException(id, (int) indexedQuantity, quantityToDecrement);
+		}
 		Comic comicToDecrementStock = verifyIfExist(id);
 		int quantityInStock = comicToDecrementStock.getQuantity();
 		int quantityAfterDecrement =  comicToDecrementStock.getQuantity() - quantityToDecrement;
 		if (quantityAfterDecrement <= comicToDecrementStock.getMax()) {
 			comicToDecrementStock.setQuantity(comicToDecrementStock.getQuantity() - quantityToDecrement);
 			Comic decrementedComicStock = comicRepository.save(comicToDecrementStock);
+			comicRepository.flush();
+			recordStockChange(decrementedComicStock, StockEventType.DECREMENTED, -quantityToDecrement);
 			return comicMapper.toDTO(decrementedComicStock);
 		}
 		throw new ComicWithInsufficientStockException(id,quantityInStock,quantityToDecrement);
 	}
 	
 	private Comic verifyIfExist(Long id) throws ComicNotFoundException {
+		// The index takes a new comic before its insert commits, so a miss needs no query.
+		if (!comicIdIndex.mightExist(id)) {
+			throw new ComicNotFoundException(id);
+		}
 		return comicRepository.findById(id).orElseThrow(() -> new ComicNotFoundException(id));	
 	}
 
+	// Callers flush the comic change first, so the row lock is held before the event id is drawn
+	// and outbox order per comic follows commit order.
+	private void recordStockChange(Comic comic, StockEventType type, int quantityDelta) {
+		recordStockChange(comic.getId(), type, quantityDelta, comic.getQuantity());
+	}
+	
+	private void recordStockChange(Long comicId, StockEventType type, int quantityDelta, int quantityAfter) {
+		outboxEventRepository.save(new OutboxEvent(null, comicId, type, quantityDelta, quantityAfter, Instant.now()));
+	}
+
+	private static <T> List<List<T>> chunks(List<T> keys) {
+		List<List<T>> chunks = new ArrayList<>();
+		for (int from = 0; from < keys.size(); from += LOOKUP_CHUNK_SIZE) {
+			chunks.add(keys.subList(from, Math.min(keys.size(), from + LOOKUP_CHUNK_SIZE)));
+		}
+		return chunks;
+	}
+
 	private void verifyIfIsAlreadyRegistered(String name) throws ComicAlreadyRegisteredException {
+		if (!comicNameFilter.mightContain(name)) {
+			return;
+		}
 		Optional<Comic> optSavedComic = comicRepository.findByName(name);
 		if (optSavedComic.isPresent()) {
 			throw new ComicAlreadyRegisteredException(name);
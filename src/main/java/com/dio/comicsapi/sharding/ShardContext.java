@@ -0,0 +1,37 @@
+package com.dio.comicsapi.sharding;
+
+import java.util.function.Supplier;
+
+public final class ShardContext {
+
+	private static final ThreadLocal<Integer> CURRENT_SHARD = new ThreadLocal<>();
+	
+	private ShardContext() {
+	}
+	
+	public static Integer current() {
+		return CURRENT_SHARD.get();
+	}
+	
+	public static <T> T callOn(int shard, Supplier<T> work) {
+		Integer previous = CURRENT_SHARD.get();
+		set(shard);
+		try {
+			return work.get();
+		} finally {
+			if (previous != null) {
+				set(previous);
+			} else {
+				clear();
+			}
+		}
+	}
+	
+	static void set(int shard) {
+		CURRENT_SHARD.set(shard);
+	}
+	
+	static void clear() {
+		CURRENT_SHARD.remove();
+	}
+}
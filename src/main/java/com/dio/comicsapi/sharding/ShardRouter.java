@@ -0,0 +1,26 @@
+package com.dio.comicsapi.sharding;
+
+import lombok.Getter;
+
+@Getter
+public class ShardRouter {
+
+	private final int shardCount;
+	
+	public ShardRouter(int shardCount) {
+		if (shardCount < 1) {
+			throw new IllegalArgumentException("At least one shard must be configured.");
+		}
+		this.shardCount = shardCount;
+	}
+	
+	public int shardForName(String name) {
+		int hash = name.hashCode();
+		return Math.floorMod(hash ^ (hash >>> 16), shardCount);
+	}
+	
+	// Every shard hands out ids starting at shard + 1 and stepping by shardCount.
+	public int shardForId(long id) {
+		return (int) Math.floorMod(id - 1, (long) shardCount);
+	}
+}
@@ -0,0 +1,152 @@
+package com.dio.comicsapi.sharding;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+
+import com.dio.comicsapi.dto.ComicDTO;
+import com.dio.comicsapi.entity.Comic;
+
+import lombok.RequiredArgsConstructor;
+
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ShardRoutingAspect {
+
+	private final ShardRouter shardRouter;
+	
+	// Transactional ComicService methods are routed too, so their transactions open their connection on the owning
+	// shard. The rest run unrouted and leave routing to each repository call they make.
+	@Around("execution(public * *(..)) && (target(com.dio.comicsapi.repository.ComicRepository) "
+			+ "|| (target(com.dio.comicsapi.service.ComicService) && @annotation(org.springframework.transaction.annotation.Transactional)))")
+	public Object route(ProceedingJoinPoint joinPoint) throws Throwable {
+		if (ShardContext.current() != null) {
+			return joinPoint.proceed();
+		}
+		if (((MethodSignature) joinPoint.getSignature()).getMethod().getDeclaringClass() == Object.class) {
+			return joinPoint.proceed();
+		}
+		Object[] args = joinPoint.getArgs();
+		if (args.length > 0 && args[0] instanceof Iterable && !(args[0] instanceof Sort)) {
+			return partitioned(joinPoint, (Iterable<?>) args[0]);
+		}
+		Integer shard = args.length > 0 ? resolveShard(args[0]) : null;
+		if (shard != null) {
+			return proceedOn(shard, joinPoint);
+		}
+		return fanOut(joinPoint);
+	}
+	
+	private Integer resolveShard(Object key) {
+		if (key instanceof String) {
+			return shardRouter.shardForName((String) key);
+		}
+		if (key instanceof Long) {
+			return shardRouter.shardForId((Long) key);
+		}
+		if (key instanceof Comic) {
+			Comic comic = (Comic) key;
+			return comic.getId() == null ? shardRouter.shardForName(comic.getName()) : shardRouter.shardForId(comic.getId());
+		}
+		// A DTO only ever arrives to be created, and a client-supplied id must not move the duplicate check and the
+		// insert away from the shard that owns the name.
+		if (key instanceof ComicDTO) {
+			return shardRouter.shardForName(((ComicDTO) key).getName());
+		}
+		return null;
+	}
+	
+	// saveAll, findAllById, deleteAll(Iterable) and friends: every shard gets only the keys it owns, in one call.
+	private Object partitioned(ProceedingJoinPoint joinPoint, Iterable<?> keys) throws Throwable {
+		Map<Integer, List<Object>> keysByShard = new TreeMap<>();
+		for (Object key : keys) {
+			Integer shard = resolveShard(key);
+			if (shard == null) {
+				throw new IllegalStateException("Cannot route " + key + " in " + joinPoint.getSignature().toShortString() + " to a shard");
+			}
+			keysByShard.computeIfAbsent(shard, owner -> new ArrayList<>()).add(key);
+		}
+		if (keysByShard.isEmpty()) {
+			return proceedOn(0, joinPoint);
+		}
+		Class<?> returnType = ((MethodSignature) joinPoint.getSignature()).getReturnType();
+		if (keysByShard.size() > 1 && returnType != void.class && !Collection.class.isAssignableFrom(returnType)) {
+			throw unmergeable(joinPoint);
+		}
+		List<Object> merged = new ArrayList<>();
+		Object result = null;
+		for (Map.Entry<Integer, List<Object>> shardKeys : keysByShard.entrySet()) {
+			Object[] shardArgs = joinPoint.getArgs().clone();
+			shardArgs[0] = shardKeys.getValue();
+			result = proceedOn(shardKeys.getKey(), joinPoint, shardArgs);
+			if (result instanceof Collection) {
+				merged.addAll((Collection<?>) result);
+			}
+		}
+		return Collection.class.isAssignableFrom(returnType) ? merged : result;
+	}
+	
+	private Object fanOut(ProceedingJoinPoint joinPoint) throws Throwable {
+		Class<?> returnType = ((MethodSignature) joinPoint.getSignature()).getReturnType();
+		if (Collection.class.isAssignableFrom(returnType)) {
+			List<Object> merged = new ArrayList<>();
+			for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+				merged.addAll((Collection<?>) proceedOn(shard, joinPoint));
+			}
+			return merged;
+		}
+		if (returnType == long.class || returnType == Long.class) {
+			long total = 0;
+			for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+				total += (Long) proceedOn(shard, joinPoint);
+			}
+			return total;
+		}
+		if (returnType == Optional.class) {
+			for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+				Optional<?> found = (Optional<?>) proceedOn(shard, joinPoint);
+				if (found.isPresent()) {
+					return found;
+				}
+			}
+			return Optional.empty();
+		}
+		if (returnType == void.class) {
+			for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+				proceedOn(shard, joinPoint);
+			}
+			return null;
+		}
+		// Page, Slice, Stream and the like cannot be stitched together from per-shard results.
+		throw unmergeable(joinPoint);
+	}
+	
+	private IllegalStateException unmergeable(ProceedingJoinPoint joinPoint) {
+		return new IllegalStateException("Cannot merge the results of " + joinPoint.getSignature().toShortString() + " across shards");
+	}
+	
+	private Object proceedOn(int shard, ProceedingJoinPoint joinPoint) throws Throwable {
+		return proceedOn(shard, joinPoint, joinPoint.getArgs());
+	}
+	
+	private Object proceedOn(int shard, ProceedingJoinPoint joinPoint, Object[] args) throws Throwable {
+		ShardContext.set(shard);
+		try {
+			return joinPoint.proceed(args);
+		} finally {
+			ShardContext.clear();
+		}
+	}
+}
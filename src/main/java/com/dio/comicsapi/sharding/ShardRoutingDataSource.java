@@ -0,0 +1,26 @@
+package com.dio.comicsapi.sharding;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		return ShardContext.current();
+	}
+
+	@Override
+	public void destroy() throws IOException {
+		for (DataSource shard : getResolvedDataSources().values()) {
+			if (shard instanceof Closeable) {
+				((Closeable) shard).close();
+			}
+		}
+	}
+}
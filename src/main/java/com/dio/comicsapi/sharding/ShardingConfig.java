@@ -0,0 +1,70 @@
+package com.dio.comicsapi.sharding;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Configuration
+@ConditionalOnProperty(prefix = "comics.sharding", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+	private static final String COMIC_TABLE_DDL = "CREATE TABLE IF NOT EXISTS comic ("
+			+ "id BIGINT AUTO_INCREMENT(%d, %d) PRIMARY KEY, "
+			+ "authors VARCHAR(255) NOT NULL, "
+			+ "max INTEGER NOT NULL, "
+			+ "name VARCHAR(255) NOT NULL UNIQUE, "
+			+ "publisher VARCHAR(255) NOT NULL, "
+			+ "quantity INTEGER NOT NULL)";
+	
+	private static final String OUTBOX_TABLE_DDL = "CREATE TABLE IF NOT EXISTS comic_outbox ("
+			+ "id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+			+ "comic_id BIGINT NOT NULL, "
+			+ "type VARCHAR(16) NOT NULL, "
+			+ "quantity_delta INTEGER NOT NULL, "
+			+ "quantity_after INTEGER NOT NULL, "
+			+ "occurred_at TIMESTAMP NOT NULL)";
+	
+	@Bean
+	public ShardRouter shardRouter(ShardingProperties shardingProperties) {
+		return new ShardRouter(shardingProperties.getUrls().size());
+	}
+	
+	@Bean
+	public DataSource dataSource(ShardingProperties shardingProperties) {
+		List<String> urls = shardingProperties.getUrls();
+		if (urls.isEmpty()) {
+			throw new IllegalStateException("comics.sharding.urls must list at least one datasource url.");
+		}
+		Map<Object, Object> shards = new HashMap<>();
+		for (int shard = 0; shard < urls.size(); shard++) {
+			DataSource shardDataSource = DataSourceBuilder.create()
+					.url(urls.get(shard))
+					.username(shardingProperties.getUsername())
+					.password(shardingProperties.getPassword())
+					.build();
+			JdbcTemplate jdbcTemplate = new JdbcTemplate(shardDataSource);
+			jdbcTemplate.execute(String.format(COMIC_TABLE_DDL, shard + 1, urls.size()));
+			jdbcTemplate.execute(OUTBOX_TABLE_DDL);
+			shards.put(shard, shardDataSource);
+		}
+		ShardRoutingDataSource routingDataSource = new ShardRoutingDataSource();
+		routingDataSource.setTargetDataSources(shards);
+		routingDataSource.setDefaultTargetDataSource(shards.get(0));
+		return routingDataSource;
+	}
+	
+	@Bean
+	public ShardRoutingAspect shardRoutingAspect(ShardRouter shardRouter) {
+		return new ShardRoutingAspect(shardRouter);
+	}
+}
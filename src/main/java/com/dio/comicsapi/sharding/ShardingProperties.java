@@ -0,0 +1,21 @@
+package com.dio.comicsapi.sharding;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "comics.sharding")
+public class ShardingProperties {
+
+	private boolean enabled;
+	
+	private List<String> urls = new ArrayList<>();
+	
+	private String username = "sa";
+	
+	private String password = "";
+}
@@ -0,0 +1,48 @@
+package com.dio.comicsapi.snapshot;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.dio.comicsapi.index.ComicIdIndex;
+import com.dio.comicsapi.namefilter.ComicNameFilter;
+import com.dio.comicsapi.sharding.ShardRouter;
+
+@Configuration
+@ConditionalOnProperty(prefix = "comics.snapshot", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(SnapshotProperties.class)
+public class ComicSnapshotConfig {
+
+	@Bean
+	public ComicSnapshotService comicSnapshotService(DataSource dataSource, PlatformTransactionManager transactionManager,
+			EntityManagerFactory entityManagerFactory, ComicNameFilter comicNameFilter, ComicIdIndex comicIdIndex, SnapshotProperties snapshotProperties,
+			ObjectProvider<ShardRouter> shardRouter) {
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.setFetchSize(snapshotProperties.getBlockRows());
+		ShardRouter router = shardRouter.getIfAvailable();
+		return new ComicSnapshotService(jdbcTemplate, new TransactionTemplate(transactionManager), entityManagerFactory,
+				comicNameFilter, comicIdIndex, snapshotProperties.getBlockRows(), router != null ? router.getShardCount() : 1);
+	}
+	
+	@Bean
+	@Lazy(false)
+	@DependsOn("entityManagerFactory")
+	public ComicSnapshotLifecycle comicSnapshotLifecycle(ComicSnapshotService comicSnapshotService, SnapshotProperties snapshotProperties) {
+		return new ComicSnapshotLifecycle(comicSnapshotService, snapshotProperties);
+	}
+	
+	@Bean
+	public ComicSnapshotEndpoint comicSnapshotEndpoint(ComicSnapshotService comicSnapshotService, SnapshotProperties snapshotProperties) {
+		return new ComicSnapshotEndpoint(comicSnapshotService, snapshotProperties);
+	}
+}
@@ -0,0 +1,29 @@
+package com.dio.comicsapi.snapshot;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+import lombok.RequiredArgsConstructor;
+
+@Endpoint(id = "comicsnapshot")
+@RequiredArgsConstructor
+public class ComicSnapshotEndpoint {
+
+	private final ComicSnapshotService comicSnapshotService;
+	
+	private final SnapshotProperties snapshotProperties;
+	
+	@WriteOperation
+	public Map<String, Object> save() {
+		long start = System.nanoTime();
+		long rows = comicSnapshotService.save(snapshotProperties.getFile());
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("file", snapshotProperties.getFile().toAbsolutePath().toString());
+		result.put("rows", rows);
+		result.put("millis", (System.nanoTime() - start) / 1_000_000);
+		return result;
+	}
+}
@@ -0,0 +1,38 @@
+package com.dio.comicsapi.snapshot;
+
+import java.nio.file.Files;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// Restores while the context is still starting, so the catalog is loaded before the web server opens. The bean is
+// eager, and every eager singleton's afterPropertiesSet runs before any SmartInitializingSingleton, so the name filter
+// and id index initializers always rebuild from the restored tables.
+@Slf4j
+@RequiredArgsConstructor
+public class ComicSnapshotLifecycle implements InitializingBean, DisposableBean {
+
+	private final ComicSnapshotService comicSnapshotService;
+	
+	private final SnapshotProperties snapshotProperties;
+	
+	@Override
+	public void afterPropertiesSet() {
+		if (snapshotProperties.isRestoreOnStartup() && Files.exists(snapshotProperties.getFile())) {
+			long start = System.nanoTime();
+			long rows = comicSnapshotService.restoreBeforeLookupsAreBuilt(snapshotProperties.getFile());
+			log.info("Restored {} comics from {} in {} ms", rows, snapshotProperties.getFile(), (System.nanoTime() - start) / 1_000_000);
+		}
+	}
+	
+	@Override
+	public void destroy() {
+		if (snapshotProperties.isSaveOnShutdown()) {
+			long rows = comicSnapshotService.save(snapshotProperties.getFile());
+			log.info("Saved {} comics to {}", rows, snapshotProperties.getFile());
+		}
+	}
+}
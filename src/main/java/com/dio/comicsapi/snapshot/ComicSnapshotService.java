@@ -0,0 +1,342 @@
+package com.dio.comicsapi.snapshot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.dio.comicsapi.enums.Publisher;
+import com.dio.comicsapi.index.ComicIdIndex;
+import com.dio.comicsapi.namefilter.ComicNameFilter;
+import com.dio.comicsapi.sharding.ShardContext;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Snapshot layout: magic, version, then blocks of [byte length][row count][ids][max][quantity][publisher ordinals][names][authors]
+// ending with a zero-length block. Columns are stored together so restore can bind a whole block in one batch.
+@Slf4j
+public class ComicSnapshotService {
+
+	private static final int MAGIC = 0x434F4D53;
+	
+	private static final int VERSION = 1;
+	
+	private static final String SELECT_COMICS = "SELECT id, name, authors, max, quantity, publisher FROM comic ORDER BY id";
+	
+	private static final String INSERT_COMIC = "INSERT INTO comic (id, name, authors, max, quantity, publisher) VALUES (?, ?, ?, ?, ?, ?)";
+	
+	private final JdbcTemplate jdbcTemplate;
+	
+	private final TransactionTemplate transactionTemplate;
+	
+	private final EntityManagerFactory entityManagerFactory;
+	
+	private final ComicNameFilter comicNameFilter;
+	
+	private final ComicIdIndex comicIdIndex;
+	
+	private final int blockRows;
+	
+	private final int shardCount;
+	
+	public ComicSnapshotService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, EntityManagerFactory entityManagerFactory,
+			ComicNameFilter comicNameFilter, ComicIdIndex comicIdIndex, int blockRows, int shardCount) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = transactionTemplate;
+		this.entityManagerFactory = entityManagerFactory;
+		this.comicNameFilter = comicNameFilter;
+		this.comicIdIndex = comicIdIndex;
+		this.blockRows = blockRows;
+		this.shardCount = shardCount;
+	}
+	
+	// Reads each shard outside any transaction, so this is not a point-in-time copy: writes that commit while it runs
+	// may or may not be in the file, and a shard's rows may be from a later moment than the previous shard's.
+	public long save(Path file) {
+		long rows = 0;
+		for (int shard = 0; shard < shardCount; shard++) {
+			Path shardFile = shardFile(file, shard);
+			rows += ShardContext.callOn(shard, () -> saveShard(shardFile));
+		}
+		return rows;
+	}
+	
+	public long restore(Path file) {
+		return restore(file, true);
+	}
+	
+	// For startup only: the name filter and id index are not built yet, and their initializers rebuild them from the
+	// restored tables afterwards.
+	long restoreBeforeLookupsAreBuilt(Path file) {
+		return restore(file, false);
+	}
+	
+	private long restore(Path file, boolean updateLookups) {
+		long rows = 0;
+		for (int shard = 0; shard < shardCount; shard++) {
+			Path shardFile = shardFile(file, shard);
+			if (Files.exists(shardFile)) {
+				rows += ShardContext.callOn(shard, () -> restoreShard(shardFile, updateLookups));
+			}
+		}
+		entityManagerFactory.getCache().evictAll();
+		return rows;
+	}
+	
+	private long saveShard(Path file) {
+		Path temporary = Paths.get(file + ".tmp");
+		long[] rows = new long[1];
+		try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			ByteBuffer header = ByteBuffer.allocate(Integer.BYTES * 2).putInt(MAGIC).putInt(VERSION);
+			header.flip();
+			channel.write(header);
+			Block block = new Block(blockRows);
+			jdbcTemplate.query(SELECT_COMICS, resultSet -> {
+				block.add(resultSet.getLong(1), resultSet.getString(2), resultSet.getString(3), resultSet.getInt(4), resultSet.getInt(5),
+						(byte) Publisher.valueOf(resultSet.getString(6)).ordinal());
+				if (block.size() == blockRows) {
+					rows[0] += writeBlock(channel, block, file);
+				}
+			});
+			rows[0] += writeBlock(channel, block, file);
+			ByteBuffer end = ByteBuffer.allocate(Integer.BYTES).putInt(0);
+			end.flip();
+			channel.write(end);
+			channel.force(true);
+		} catch (IOException e) {
+			throw new SnapshotException("Could not write comic snapshot " + file, e);
+		}
+		try {
+			Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			throw new SnapshotException("Could not replace comic snapshot " + file, e);
+		}
+		return rows[0];
+	}
+	
+	private long restoreShard(Path file, boolean updateLookups) {
+		Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM comic", Integer.class);
+		if (existing != null && existing > 0) {
+			log.warn("Skipping restore of {}: the comic table already holds {} rows", file, existing);
+			return 0;
+		}
+		long rows = 0;
+		long maxId = 0;
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, Integer.BYTES * 2);
+			if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+				throw new SnapshotException("Not a comic snapshot: " + file, null);
+			}
+			long position = Integer.BYTES * 2;
+			while (true) {
+				int blockBytes = channel.map(FileChannel.MapMode.READ_ONLY, position, Integer.BYTES).getInt();
+				if (blockBytes == 0) {
+					break;
+				}
+				Block block = Block.read(channel.map(FileChannel.MapMode.READ_ONLY, position + Integer.BYTES, blockBytes));
+				insert(block, updateLookups);
+				rows += block.size();
+				maxId = Math.max(maxId, block.maxId());
+				position += Integer.BYTES + blockBytes;
+			}
+		} catch (IOException e) {
+			throw new SnapshotException("Could not read comic snapshot " + file, e);
+		}
+		if (rows > 0) {
+			// Every shard steps its identity by the shard count, so this keeps new ids on the same shard.
+			jdbcTemplate.execute("ALTER TABLE comic ALTER COLUMN id RESTART WITH " + (maxId + shardCount));
+		}
+		return rows;
+	}
+	
+	// A runtime restore updates the lookups inside the insert transaction, names before the rows as in
+	// ComicService.createComic and ids through ComicIdIndex.putBeforeCommit, so a miss stays authoritative.
+	private void insert(Block block, boolean updateLookups) {
+		transactionTemplate.executeWithoutResult(status -> {
+			if (updateLookups) {
+				block.names.forEach(comicNameFilter::add);
+			}
+			jdbcTemplate.batchUpdate(INSERT_COMIC, new BatchPreparedStatementSetter() {
+				@Override
+				public void setValues(PreparedStatement statement, int row) throws SQLException {
+					statement.setLong(1, block.ids[row]);
+					statement.setString(2, block.names.get(row));
+					statement.setString(3, block.authors.get(row));
+					statement.setInt(4, block.max[row]);
+					statement.setInt(5, block.quantities[row]);
+					statement.setString(6, Publisher.values()[block.publishers[row]].name());
+				}
+				
+				@Override
+				public int getBatchSize() {
+					return block.size();
+				}
+			});
+			if (updateLookups) {
+				for (int row = 0; row < block.size(); row++) {
+					comicIdIndex.putBeforeCommit(block.ids[row], block.quantities[row], block.max[row], block.publishers[row]);
+				}
+			}
+		});
+	}
+	
+	private long writeBlock(FileChannel channel, Block block, Path file) {
+		int rows = block.size();
+		if (rows == 0) {
+			return 0;
+		}
+		ByteBuffer buffer = block.write();
+		buffer.flip();
+		try {
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		} catch (IOException e) {
+			throw new SnapshotException("Could not write comic snapshot " + file, e);
+		}
+		block.clear();
+		return rows;
+	}
+	
+	private Path shardFile(Path file, int shard) {
+		return shardCount == 1 ? file : Paths.get(file + "." + shard);
+	}
+	
+	private static class Block {
+		
+		private long[] ids;
+		
+		private int[] max;
+		
+		private int[] quantities;
+		
+		private byte[] publishers;
+		
+		private final List<String> names;
+		
+		private final List<String> authors;
+		
+		Block(int capacity) {
+			ids = new long[capacity];
+			max = new int[capacity];
+			quantities = new int[capacity];
+			publishers = new byte[capacity];
+			names = new ArrayList<>(capacity);
+			authors = new ArrayList<>(capacity);
+		}
+		
+		int size() {
+			return names.size();
+		}
+		
+		long maxId() {
+			long maxId = 0;
+			for (int row = 0; row < size(); row++) {
+				maxId = Math.max(maxId, ids[row]);
+			}
+			return maxId;
+		}
+		
+		void add(long id, String name, String author, int maxStock, int quantity, byte publisher) {
+			int row = size();
+			ids[row] = id;
+			max[row] = maxStock;
+			quantities[row] = quantity;
+			publishers[row] = publisher;
+			names.add(name);
+			authors.add(author);
+		}
+		
+		void clear() {
+			names.clear();
+			authors.clear();
+		}
+		
+		ByteBuffer write() {
+			int rows = size();
+			List<byte[]> nameBytes = encode(names);
+			List<byte[]> authorBytes = encode(authors);
+			int length = Integer.BYTES + rows * (Long.BYTES + Integer.BYTES * 2 + 1)
+					+ encodedLength(nameBytes) + encodedLength(authorBytes);
+			ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + length);
+			buffer.putInt(length).putInt(rows);
+			for (int row = 0; row < rows; row++) {
+				buffer.putLong(ids[row]);
+			}
+			for (int row = 0; row < rows; row++) {
+				buffer.putInt(max[row]);
+			}
+			for (int row = 0; row < rows; row++) {
+				buffer.putInt(quantities[row]);
+			}
+			buffer.put(publishers, 0, rows);
+			putStrings(buffer, nameBytes);
+			putStrings(buffer, authorBytes);
+			return buffer;
+		}
+		
+		static Block read(ByteBuffer buffer) {
+			int rows = buffer.getInt();
+			Block block = new Block(rows);
+			for (int row = 0; row < rows; row++) {
+				block.ids[row] = buffer.getLong();
+			}
+			for (int row = 0; row < rows; row++) {
+				block.max[row] = buffer.getInt();
+			}
+			for (int row = 0; row < rows; row++) {
+				block.quantities[row] = buffer.getInt();
+			}
+			buffer.get(block.publishers, 0, rows);
+			for (int row = 0; row < rows; row++) {
+				block.names.add(getString(buffer));
+			}
+			for (int row = 0; row < rows; row++) {
+				block.authors.add(getString(buffer));
+			}
+			return block;
+		}
+		
+		private static List<byte[]> encode(List<String> values) {
+			List<byte[]> encoded = new ArrayList<>(values.size());
+			values.forEach(value -> encoded.add(value.getBytes(StandardCharsets.UTF_8)));
+			return encoded;
+		}
+		
+		private static int encodedLength(List<byte[]> values) {
+			int length = 0;
+			for (byte[] value : values) {
+				length += Integer.BYTES + value.length;
+			}
+			return length;
+		}
+		
+		private static void putStrings(ByteBuffer buffer, List<byte[]> values) {
+			for (byte[] value : values) {
+				buffer.putInt(value.length).put(value);
+			}
+		}
+		
+		private static String getString(ByteBuffer buffer) {
+			byte[] value = new byte[buffer.getInt()];
+			buffer.get(value);
+			return new String(value, StandardCharsets.UTF_8);
+		}
+	}
+}
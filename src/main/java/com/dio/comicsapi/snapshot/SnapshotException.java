@@ -0,0 +1,10 @@
+package com.dio.comicsapi.snapshot;
+
+public class SnapshotException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public SnapshotException(String message, Throwable cause) {
+		super(message, cause);
+	}
+}
@@ -0,0 +1,23 @@
+package com.dio.comicsapi.snapshot;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "comics.snapshot")
+public class SnapshotProperties {
+
+	private boolean enabled;
+	
+	private Path file = Paths.get("comics.snapshot");
+	
+	private boolean restoreOnStartup = true;
+	
+	private boolean saveOnShutdown = true;
+	
+	private int blockRows = 8_192;
+}
@@ -0,0 +1,32 @@
+package com.dio.comicsapi.builder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.dio.comicsapi.dto.ComicDTO;
+import com.dio.comicsapi.exceptions.ComicAlreadyRegisteredException;
+import com.dio.comicsapi.service.ComicService;
+
+// Comics for tests that go through a real ComicService: no id, so the database assigns one.
+public class ComicFixtures {
+	
+	public static ComicDTO newComic() {
+		return ComicDTOBuilder.builder().id(null).build().toComicsDTO();
+	}
+	
+	public static ComicDTO newComic(String name) {
+		return ComicDTOBuilder.builder().id(null).name(name).build().toComicsDTO();
+	}
+	
+	public static String comicName(int index) {
+		return "Comic #" + index;
+	}
+	
+	public static List<ComicDTO> seed(ComicService comicService, int comics) throws ComicAlreadyRegisteredException {
+		List<ComicDTO> seeded = new ArrayList<>();
+		for (int i = 0; i < comics; i++) {
+			seeded.add(comicService.createComic(newComic(comicName(i))));
+		}
+		return seeded;
+	}
+}
@@ -0,0 +1,166 @@
+package com.dio.comicsapi.bulkimport;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.dio.comicsapi.dto.ComicDTO;
+import com.dio.comicsapi.dto.ImportJobDTO;
+import com.dio.comicsapi.entity.OutboxEvent;
+import com.dio.comicsapi.enums.ImportFormat;
+import com.dio.comicsapi.enums.ImportStatus;
+import com.dio.comicsapi.enums.StockEventType;
+import com.dio.comicsapi.repository.ComicRepository;
+import com.dio.comicsapi.repository.OutboxEventRepository;
+import com.dio.comicsapi.service.ComicService;
+
+@SpringBootTest(properties = {
+		"comics.import.writers=2",
+		"comics.outbox.relay.enabled=false"
+})
+public class ComicImportServiceTest {
+
+	@TempDir
+	static Path importDirectory;
+	
+	@Autowired
+	private ComicImportService comicImportService;
+	
+	@Autowired
+	private ComicService comicService;
+	
+	@Autowired
+	private ComicRepository comicRepository;
+	
+	@Autowired
+	private OutboxEventRepository outboxEventRepository;
+	
+	@DynamicPropertySource
+	static void importDirectory(DynamicPropertyRegistry registry) {
+		registry.add("comics.import.directory", importDirectory::toString);
+	}
+	
+	@BeforeEach
+	void setUp() {
+		comicRepository.deleteAllInBatch();
+		outboxEventRepository.deleteAllInBatch();
+	}
+	
+	@Test
+	void whenCsvIsImportedThenValidRowsAreInsertedAndTheRestAreRejected() throws Exception {
+		String csv = "name,authors,max,quantity,publisher\n"
+				+ "Watchmen,\"Moore, Alan\",50,10,DC\n"
+				+ "\"The \"\"Killing\"\" Joke\",Moore,50,10,dc\n"
+				+ "Too many,Someone,50,200,DC\n"
+				+ "Bad publisher,Someone,50,10,IMAGE\n"
+				+ "Watchmen,Moore,50,10,DC\n"
+				+ "Civil War,Millar,50,10,MARVEL\n";
+		
+		ImportJobDTO job = awaitFinished(comicImportService.submit(stream(csv), ImportFormat.CSV));
+		
+		assertThat(job.getStatus(), is(ImportStatus.COMPLETED));
+		assertThat(job.getRowsRead(), is(equalTo(6L)));
+		assertThat(job.getRowsImported(), is(equalTo(3L)));
+		assertThat(job.getRowsRejected(), is(equalTo(3L)));
+		assertThat(comicService.findByName("The \"Killing\" Joke").getAuthors(), is(equalTo("Moore")));
+		ComicDTO watchmen = comicService.findByName("Watchmen");
+		assertThat(watchmen.getAuthors(), is(equalTo("Moore, Alan")));
+		assertThat(comicService.increment(watchmen.getId(), 5).getQuantity(), is(equalTo(15)));
+		List<String> errors = Files.readAllLines(comicImportService.errorFile(job.getId()));
+		assertThat(errors, hasSize(3));
+		assertThat(String.join("\n", errors), containsString("already registered"));
+	}
+	
+	@Test
+	void whenComicsAreImportedThenACreatedEventIsWrittenForEach() throws Exception {
+		ImportJobDTO job = awaitFinished(comicImportService.submit(stream(catalog(25)), ImportFormat.CSV));
+		
+		List<OutboxEvent> events = outboxEventRepository.findAll();
+		assertThat(job.getRowsImported(), is(equalTo(25L)));
+		assertThat(events, hasSize(25));
+		assertThat(events.stream().map(OutboxEvent::getType).distinct().collect(Collectors.toList()),
+				is(equalTo(Collections.singletonList(StockEventType.CREATED))));
+		assertThat(events.stream().map(OutboxEvent::getComicId).distinct().count(), is(equalTo(25L)));
+	}
+	
+	@Test
+	void whenNdjsonIsImportedThenMalformedLinesAreRejected() throws Exception {
+		String ndjson = "{\"name\":\"Saga\",\"authors\":\"Vaughan\",\"max\":50,\"quantity\":10,\"publisher\":\"DC\"}\n"
+				+ "\n"
+				+ "{\"name\":\"Broken\",\n"
+				+ "{\"name\":\"Maus\",\"authors\":\"Spiegelman\",\"max\":50,\"quantity\":10,\"publisher\":\"MARVEL\"}\n";
+		
+		ImportJobDTO job = awaitFinished(comicImportService.submit(stream(ndjson), ImportFormat.NDJSON));
+		
+		assertThat(job.getStatus(), is(ImportStatus.COMPLETED));
+		assertThat(job.getRowsImported(), is(equalTo(2L)));
+		assertThat(job.getRowsRejected(), is(equalTo(1L)));
+		assertThat(Files.readAllLines(comicImportService.errorFile(job.getId())).get(0), containsString("\"line\":3"));
+	}
+	
+	@Test
+	void whenQueuedJobIsCancelledThenNothingIsImported() throws Exception {
+		ImportJobDTO running = comicImportService.submit(stream(catalog(200_000)), ImportFormat.CSV);
+		ImportJobDTO queued = comicImportService.submit(stream(catalog(10)), ImportFormat.CSV);
+		
+		comicImportService.cancel(queued.getId());
+		
+		ImportJobDTO cancelled = awaitFinished(queued);
+		assertThat(cancelled.getStatus(), is(ImportStatus.CANCELLED));
+		assertThat(cancelled.getRowsImported(), is(equalTo(0L)));
+		awaitFinished(running);
+	}
+	
+	@Test
+	@Tag("load")
+	void whenLargeCatalogIsImportedThenThroughputReachesHundredsOfThousandsOfRowsPerSecond() throws Exception {
+		int rows = 1_000_000;
+		
+		ImportJobDTO job = awaitFinished(comicImportService.submit(stream(catalog(rows)), ImportFormat.CSV));
+		
+		assertThat(job.getRowsImported(), is(equalTo((long) rows)));
+		assertThat(job.getRowsPerSecond(), is(greaterThan(100_000.0)));
+	}
+	
+	private ImportJobDTO awaitFinished(ImportJobDTO job) throws Exception {
+		ImportJobDTO current = comicImportService.status(job.getId());
+		long deadline = System.currentTimeMillis() + 120_000;
+		while (!current.getStatus().isFinished() && System.currentTimeMillis() < deadline) {
+			Thread.sleep(20);
+			current = comicImportService.status(job.getId());
+		}
+		return current;
+	}
+	
+	private static String catalog(int rows) {
+		StringBuilder csv = new StringBuilder("name,authors,max,quantity,publisher\n");
+		for (int i = 0; i < rows; i++) {
+			csv.append("Imported comic #").append(i).append(",Author,100,").append(i % 100).append(i % 2 == 0 ? ",DC\n" : ",MARVEL\n");
+		}
+		return csv.toString();
+	}
+	
+	private static ByteArrayInputStream stream(String content) {
+		return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,111 @@
+package com.dio.comicsapi.cache;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.dio.comicsapi.builder.ComicFixtures;
+import com.dio.comicsapi.dto.ComicDTO;
+import com.dio.comicsapi.exceptions.ComicNotFoundException;
+import com.dio.comicsapi.repository.ComicRepository;
+import com.dio.comicsapi.service.ComicService;
+import com.dio.comicsapi.utils.ReadHeavyWorkload;
+
+@SpringBootTest(properties = {
+		"spring.jpa.open-in-view=false",
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		"comics.outbox.relay.interval=3600000"
+})
+public class ComicSecondLevelCacheTest {
+
+	private static final int READ_HEAVY_OPERATIONS = 20_000;
+	
+	@Autowired
+	private ComicService comicService;
+	
+	@Autowired
+	private ComicRepository comicRepository;
+	
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	
+	private Statistics statistics;
+	
+	@BeforeEach
+	void setUp() {
+		comicRepository.deleteAll();
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+	
+	@Test
+	void whenComicIsLoadedTwiceByIdThenTheSecondLoadIsACacheHit() throws Exception {
+		ComicDTO createdComicDTO = comicService.createComic(ComicFixtures.newComic());
+		
+		comicService.increment(createdComicDTO.getId(), 1);
+		comicService.increment(createdComicDTO.getId(), 1);
+		
+		assertThat(statistics.getCacheRegionStatistics(ComicCacheRegions.COMIC).getHitCount(), is(greaterThan(0L)));
+	}
+	
+	@Test
+	void whenComicIsSearchedTwiceByNameThenTheQueryCacheIsHit() throws Exception {
+		ComicDTO createdComicDTO = comicService.createComic(ComicFixtures.newComic());
+		
+		comicService.findByName(createdComicDTO.getName());
+		comicService.findByName(createdComicDTO.getName());
+		
+		assertThat(statistics.getQueryCacheHitCount(), is(greaterThan(0L)));
+	}
+	
+	@Test
+	void whenStockIsUpdatedThenCachedReadsSeeTheNewQuantity() throws Exception {
+		ComicDTO createdComicDTO = comicService.createComic(ComicFixtures.newComic());
+		comicService.findByName(createdComicDTO.getName());
+		
+		comicService.increment(createdComicDTO.getId(), 5);
+		
+		assertThat(comicService.findByName(createdComicDTO.getName()).getQuantity(), is(equalTo(createdComicDTO.getQuantity() + 5)));
+	}
+	
+	@Test
+	void whenCachedComicIsDeletedThenItIsNoLongerFound() throws Exception {
+		ComicDTO createdComicDTO = comicService.createComic(ComicFixtures.newComic());
+		comicService.findByName(createdComicDTO.getName());
+		
+		comicService.deleteById(createdComicDTO.getId());
+		
+		assertThrows(ComicNotFoundException.class, () -> comicService.findByName(createdComicDTO.getName()));
+	}
+	
+	// Every stock change reloads its comic by id from the cache, leaving a statement per read and two per stock change
+	// (update, outbox insert), below the halfway mark to ComicWithoutSecondLevelCacheTest's three per stock change.
+	@Test
+	@Tag("load")
+	void whenReadHeavyMixRunsWithCacheThenReloadsByIdAreServedFromTheCache() throws Exception {
+		List<ComicDTO> comics = ComicFixtures.seed(comicService, 500);
+		statistics.clear();
+		
+		ReadHeavyWorkload.run(comicService, comics, READ_HEAVY_OPERATIONS);
+		
+		long writes = ReadHeavyWorkload.writes(READ_HEAVY_OPERATIONS);
+		assertThat(statistics.getCacheRegionStatistics(ComicCacheRegions.COMIC).getHitCount(), is(greaterThanOrEqualTo(writes)));
+		assertThat(statistics.getPrepareStatementCount(), is(lessThan(READ_HEAVY_OPERATIONS + writes + writes / 2)));
+	}
+}
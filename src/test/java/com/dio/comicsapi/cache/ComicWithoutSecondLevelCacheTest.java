@@ -0,0 +1,61 @@
+package com.dio.comicsapi.cache;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+
+import java.util.List;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.dio.comicsapi.builder.ComicFixtures;
+import com.dio.comicsapi.dto.ComicDTO;
+import com.dio.comicsapi.repository.ComicRepository;
+import com.dio.comicsapi.service.ComicService;
+import com.dio.comicsapi.utils.ReadHeavyWorkload;
+
+@SpringBootTest(properties = {
+		"spring.jpa.open-in-view=false",
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		"spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+		"spring.jpa.properties.hibernate.cache.use_query_cache=false",
+		"comics.outbox.relay.interval=3600000"
+})
+@Tag("load")
+public class ComicWithoutSecondLevelCacheTest {
+
+	private static final int READ_HEAVY_OPERATIONS = 20_000;
+	
+	@Autowired
+	private ComicService comicService;
+	
+	@Autowired
+	private ComicRepository comicRepository;
+	
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	
+	// A statement per read and three per stock change (reload by id, update, outbox insert), so the count stays above
+	// the halfway mark to ComicSecondLevelCacheTest, where the reload is a cache hit.
+	@Test
+	void whenReadHeavyMixRunsWithoutCacheThenEveryOperationReachesTheDatabase() throws Exception {
+		comicRepository.deleteAll();
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		List<ComicDTO> comics = ComicFixtures.seed(comicService, 500);
+		statistics.clear();
+		
+		ReadHeavyWorkload.run(comicService, comics, READ_HEAVY_OPERATIONS);
+		
+		long writes = ReadHeavyWorkload.writes(READ_HEAVY_OPERATIONS);
+		assertThat(statistics.getSecondLevelCacheHitCount(), is(equalTo(0L)));
+		assertThat(statistics.getPrepareStatementCount(), is(greaterThanOrEqualTo(READ_HEAVY_OPERATIONS + writes + writes / 2)));
+	}
+}
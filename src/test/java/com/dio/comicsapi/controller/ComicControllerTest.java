@@ -8,6 +8,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.util.Arrays;
 import java.util.Collections;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -25,6 +26,8 @@ import org.springframework.web.servlet.view.json.MappingJackson2JsonView;
 
 import com.dio.comicsapi.builder.ComicDTOBuilder;
 import com.dio.comicsapi.dto.ComicDTO;
+import com.dio.comicsapi.dto.ComicLookupDTO;
+import com.dio.comicsapi.dto.ComicLookupResultDTO;
 import com.dio.comicsapi.dto.QuantityDTO;
 import com.dio.comicsapi.exceptions.ComicNotFoundException;
 import com.dio.comicsapi.service.ComicService;
@@ -194,4 +197,41 @@ public class ComicControllerTest {
 	                .andExpect(jsonPath("$.quantity", is(comicDTO.getQuantity())));
 	    }
 
+	    
+	    @Test
+	    void whenPOSTLookupIsCalledThenFoundAndMissingComicsAreReturned() throws Exception {
+	        // given
+	        ComicDTO comicDTO = ComicDTOBuilder.builder().build().toComicsDTO();
+	        ComicLookupDTO comicLookupDTO = new ComicLookupDTO(Arrays.asList(VALID_COMIC_ID, INVALID_COMIC_ID), Collections.singletonList("Unknown"));
+	        ComicLookupResultDTO comicLookupResultDTO = ComicLookupResultDTO.builder()
+	                .comics(Collections.singletonList(comicDTO))
+	                .missingIds(Collections.singletonList(INVALID_COMIC_ID))
+	                .missingNames(Collections.singletonList("Unknown"))
+	                .build();
+
+	        // when
+	        when(comicService.findAll(comicLookupDTO.getIds(), comicLookupDTO.getNames())).thenReturn(comicLookupResultDTO);
+
+	        // then
+	        mockMvc.perform(post(COMIC_API_URL_PATH + "/lookup")
+	                .contentType(MediaType.APPLICATION_JSON)
+	                .content(asJsonString(comicLookupDTO)))
+	                .andExpect(status().isOk())
+	                .andExpect(jsonPath("$.comics[0].name", is(comicDTO.getName())))
+	                .andExpect(jsonPath("$.missingIds[0]", is((int) INVALID_COMIC_ID)))
+	                .andExpect(jsonPath("$.missingNames[0]", is("Unknown")));
+	    }
+	    
+	    @Test
+	    void whenPOSTLookupIsCalledWithNullIdOrBlankNameThenAErrorIsReturned() throws Exception {
+	        // given
+	        ComicLookupDTO comicLookupDTO = new ComicLookupDTO(Arrays.asList(VALID_COMIC_ID, null), Collections.singletonList(" "));
+
+	        // then
+	        mockMvc.perform(post(COMIC_API_URL_PATH + "/lookup")
+	                .contentType(MediaType.APPLICATION_JSON)
+	                .content(asJsonString(comicLookupDTO)))
+	                .andExpect(status().isBadRequest());
+	    }
+
 }
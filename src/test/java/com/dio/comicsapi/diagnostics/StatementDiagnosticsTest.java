@@ -0,0 +1,39 @@
+package com.dio.comicsapi.diagnostics;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+public class StatementDiagnosticsTest {
+
+	private static final String ENDPOINT = "GET /api/v1/comic/{name}";
+	
+	@Test
+	void whenRequestsAreRecordedThenStatementsArePerEndpoint() {
+		StatementDiagnostics statementDiagnostics = new StatementDiagnostics();
+		
+		statementDiagnostics.record(ENDPOINT, 1);
+		statementDiagnostics.record(ENDPOINT, 3);
+		
+		Map<String, Object> endpointStatements = statementDiagnostics.snapshot().get(ENDPOINT);
+		assertThat(endpointStatements.get("requests"), is(equalTo(2L)));
+		assertThat(endpointStatements.get("statements"), is(equalTo(4L)));
+		assertThat(endpointStatements.get("avgStatementsPerRequest"), is(equalTo(2.0)));
+		assertThat(endpointStatements.get("maxStatementsPerRequest"), is(equalTo(3L)));
+	}
+	
+	@Test
+	void whenStatementsAreInspectedThenTheThreadCounterIsIncremented() {
+		StatementCounter statementCounter = new StatementCounter();
+		StatementCounter.reset();
+		
+		statementCounter.inspect("select 1");
+		statementCounter.inspect("select 2");
+		
+		assertThat(StatementCounter.current(), is(equalTo(2)));
+	}
+}
@@ -0,0 +1,68 @@
+package com.dio.comicsapi.index;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.util.Collections;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class ComicIdIndexTest {
+
+	private final ComicIdIndex comicIdIndex = new ComicIdIndex(new ComicIdIndexProperties(), new SimpleMeterRegistry());
+	
+	@BeforeEach
+	void setUp() {
+		comicIdIndex.rebuild(Collections.emptyList());
+		TransactionSynchronizationManager.initSynchronization();
+	}
+	
+	@AfterEach
+	void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+	
+	@Test
+	void whenComicIsPutInATransactionThenItIsVisibleBeforeCommit() {
+		comicIdIndex.putBeforeCommit(7L, 10, 20, 0);
+		
+		assertThat(comicIdIndex.mightExist(7L), is(true));
+		assertThat(comicIdIndex.quantity(7L), is(10L));
+		complete(TransactionSynchronization.STATUS_COMMITTED);
+		assertThat(comicIdIndex.quantity(7L), is(10L));
+	}
+	
+	@Test
+	void whenInsertRollsBackThenTheComicIsAbsentAgain() {
+		comicIdIndex.putBeforeCommit(7L, 10, 20, 0);
+		
+		complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+		
+		assertThat(comicIdIndex.mightExist(7L), is(false));
+	}
+	
+	@Test
+	void whenUpdatesRollBackThenTheCommittedStockIsRestored() {
+		comicIdIndex.put(7L, 10, 20, 0);
+		
+		comicIdIndex.putBeforeCommit(7L, 11, 20, 0);
+		comicIdIndex.putBeforeCommit(7L, 12, 20, 0);
+		complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+		
+		assertThat(comicIdIndex.quantity(7L), is(10L));
+	}
+	
+	private void complete(int status) {
+		TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(), status);
+		TransactionSynchronizationManager.clearSynchronization();
+	}
+}
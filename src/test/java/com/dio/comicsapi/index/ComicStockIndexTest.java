@@ -0,0 +1,80 @@
+package com.dio.comicsapi.index;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class ComicStockIndexTest {
+
+	private static final int COMICS = 100_000;
+	
+	@Test
+	void whenComicsArePutThenTheirStockIsReturned() {
+		ComicStockIndex stockIndex = new ComicStockIndex(16);
+		
+		for (long id = 1; id <= COMICS; id++) {
+			stockIndex.put(id, (int) id % 50, 100, (int) id % 2);
+		}
+		
+		assertThat(stockIndex.size(), is(COMICS));
+		for (long id = 1; id <= COMICS; id++) {
+			assertThat(stockIndex.quantity(id), is(id % 50));
+			assertThat(stockIndex.max(id), is(100L));
+			assertThat(stockIndex.publisherOrdinal(id), is(id % 2));
+		}
+		assertThat(stockIndex.contains(COMICS + 1), is(false));
+		assertThat(stockIndex.quantity(COMICS + 1), is(ComicStockIndex.ABSENT));
+	}
+	
+	@Test
+	void whenComicIsPutTwiceThenStockIsOverwritten() {
+		ComicStockIndex stockIndex = new ComicStockIndex(16);
+		stockIndex.put(7L, 10, 50, 0);
+		
+		stockIndex.put(7L, 20, 50, 0);
+		
+		assertThat(stockIndex.size(), is(1));
+		assertThat(stockIndex.quantity(7L), is(20L));
+	}
+	
+	@Test
+	void whenRandomPutsAndRemovesAreAppliedThenIndexMatchesAHashMap() {
+		ComicStockIndex stockIndex = new ComicStockIndex(16);
+		Map<Long, Long> expected = new HashMap<>();
+		Random random = new Random(42);
+		
+		for (int operation = 0; operation < COMICS * 5; operation++) {
+			long id = 1 + random.nextInt(COMICS);
+			if (random.nextInt(3) == 0) {
+				stockIndex.remove(id);
+				expected.remove(id);
+			} else {
+				long quantity = random.nextInt(1000);
+				stockIndex.put(id, (int) quantity, 1000, 1);
+				expected.put(id, quantity);
+			}
+		}
+		
+		assertThat(stockIndex.size(), is(expected.size()));
+		for (long id = 1; id <= COMICS; id++) {
+			assertThat(stockIndex.quantity(id), is(expected.getOrDefault(id, ComicStockIndex.ABSENT)));
+		}
+	}
+	
+	@Test
+	void whenStoredQuantityIsNegativeThenComicIsStillIndexed() {
+		ComicStockIndex stockIndex = new ComicStockIndex(16);
+		
+		stockIndex.put(7L, -1, 20, 0);
+		
+		assertThat(stockIndex.contains(7L), is(true));
+		assertThat(stockIndex.quantity(7L), is(-1L));
+		assertThat(stockIndex.contains(8L), is(false));
+		assertThat(stockIndex.quantity(8L), is(ComicStockIndex.ABSENT));
+	}
+}
@@ -0,0 +1,196 @@
+package com.dio.comicsapi.loadtest;
+
+import static com.dio.comicsapi.utils.JsonConvertionUtils.asJsonString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+
+import com.dio.comicsapi.dto.ComicDTO;
+import com.dio.comicsapi.dto.QuantityDTO;
+import com.dio.comicsapi.enums.Publisher;
+import com.dio.comicsapi.service.ComicService;
+
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"comics.rate-limit.enabled=false",
+		"spring.jpa.open-in-view=false"
+})
+public class ComicLoadTest {
+
+	private static final String COMIC_API_URL_PATH = "/api/v1/comic";
+	
+	private static final Path REPORT_FILE = Paths.get("target", "load-test-report.txt");
+	
+	@LocalServerPort
+	private int port;
+	
+	@Autowired
+	private ComicService comicService;
+	
+	private final LoadTestSettings settings = new LoadTestSettings();
+	
+	private final LatencyReport report = new LatencyReport();
+	
+	private final AtomicLong createdComics = new AtomicLong();
+	
+	private List<ComicDTO> catalog;
+	
+	private ZipfDistribution hotComics;
+	
+	private HttpClient httpClient;
+	
+	@Test
+	void whenMixedWorkloadRunsThenLatencyMeetsTheSlos() throws Exception {
+		catalog = seedCatalog(settings.getCatalogSize());
+		hotComics = new ZipfDistribution(catalog.size(), settings.getZipfExponent());
+		ExecutorService clientExecutor = Executors.newFixedThreadPool(64);
+		httpClient = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.executor(clientExecutor)
+				.build();
+		try {
+			runOpenLoop(settings.getWarmup());
+			report.reset();
+			long start = System.nanoTime();
+			runOpenLoop(settings.getDuration());
+			double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+			
+			String formatted = String.format("target %d ops/s, catalog %d, zipf %.2f%n%s", settings.getRatePerSecond(),
+					settings.getCatalogSize(), settings.getZipfExponent(), report.format(elapsedSeconds));
+			Files.createDirectories(REPORT_FILE.getParent());
+			Files.write(REPORT_FILE, formatted.getBytes(StandardCharsets.UTF_8));
+		} finally {
+			clientExecutor.shutdownNow();
+		}
+		
+		assertSlos();
+	}
+	
+	private void assertSlos() {
+		Histogram pointOperations = new Histogram(TimeUnit.MINUTES.toMicros(1), 3);
+		for (String operation : new String[] { "read", "increment", "decrement", "create" }) {
+			if (report.histogram(operation) != null) {
+				pointOperations.add(report.histogram(operation));
+			}
+		}
+		assertThat(LatencyReport.millis(pointOperations.getValueAtPercentile(50)), is(lessThanOrEqualTo((double) settings.getSloP50Millis())));
+		assertThat(LatencyReport.millis(pointOperations.getValueAtPercentile(99)), is(lessThanOrEqualTo((double) settings.getSloP99Millis())));
+		assertThat(LatencyReport.millis(pointOperations.getValueAtPercentile(99.9)), is(lessThanOrEqualTo((double) settings.getSloP999Millis())));
+		if (report.histogram("list") != null) {
+			assertThat(LatencyReport.millis(report.histogram("list").getValueAtPercentile(99)), is(lessThanOrEqualTo((double) settings.getSloListP99Millis())));
+		}
+		assertThat((double) report.errorCount() / report.total().getTotalCount(), is(lessThanOrEqualTo(settings.getSloMaxErrorRate())));
+	}
+	
+	// Open loop: requests are sent on schedule whether or not earlier ones finished,
+	// and latency is measured from the scheduled time to avoid coordinated omission.
+	private void runOpenLoop(Duration duration) {
+		long intervalNanos = TimeUnit.SECONDS.toNanos(1) / settings.getRatePerSecond();
+		long requests = duration.toNanos() / intervalNanos;
+		List<CompletableFuture<?>> responses = new ArrayList<>();
+		long start = System.nanoTime();
+		for (long i = 0; i < requests; i++) {
+			long intended = start + i * intervalNanos;
+			long wait;
+			while ((wait = intended - System.nanoTime()) > 0) {
+				LockSupport.parkNanos(wait);
+			}
+			String[] operation = new String[1];
+			HttpRequest request = nextRequest(operation);
+			responses.add(httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+					.whenComplete((response, error) -> report.record(operation[0], System.nanoTime() - intended,
+							error != null ? -1 : response.statusCode())));
+		}
+		CompletableFuture.allOf(responses.toArray(new CompletableFuture[0])).handle((ignored, error) -> null).join();
+	}
+	
+	private HttpRequest nextRequest(String[] operation) {
+		int weight = ThreadLocalRandom.current().nextInt(settings.getReadWeight() + settings.getListWeight()
+				+ settings.getIncrementWeight() + settings.getDecrementWeight() + settings.getCreateWeight());
+		ComicDTO hotComic = catalog.get(hotComics.sample());
+		if ((weight -= settings.getReadWeight()) < 0) {
+			operation[0] = "read";
+			return get(COMIC_API_URL_PATH + "/" + hotComic.getName());
+		}
+		if ((weight -= settings.getListWeight()) < 0) {
+			operation[0] = "list";
+			return get(COMIC_API_URL_PATH);
+		}
+		if ((weight -= settings.getIncrementWeight()) < 0) {
+			operation[0] = "increment";
+			return patch(COMIC_API_URL_PATH + "/" + hotComic.getId() + "/increment", asJsonString(new QuantityDTO(1)));
+		}
+		if ((weight -= settings.getDecrementWeight()) < 0) {
+			operation[0] = "decrement";
+			return patch(COMIC_API_URL_PATH + "/" + hotComic.getId() + "/decrement", asJsonString(new QuantityDTO(1)));
+		}
+		operation[0] = "create";
+		return post(COMIC_API_URL_PATH, asJsonString(comic("load-test-new-" + createdComics.incrementAndGet())));
+	}
+	
+	private List<ComicDTO> seedCatalog(int size) throws Exception {
+		List<ComicDTO> seeded = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			seeded.add(comicService.createComic(comic("load-test-comic-" + i)));
+		}
+		return seeded;
+	}
+	
+	private ComicDTO comic(String name) {
+		return ComicDTO.builder()
+				.name(name)
+				.authors("Load Test")
+				.max(500)
+				.quantity(100)
+				.publisher(ThreadLocalRandom.current().nextBoolean() ? Publisher.DC : Publisher.MARVEL)
+				.build();
+	}
+	
+	private HttpRequest get(String path) {
+		return HttpRequest.newBuilder(uri(path)).GET().build();
+	}
+	
+	private HttpRequest post(String path, String body) {
+		return HttpRequest.newBuilder(uri(path))
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(body))
+				.build();
+	}
+	
+	private HttpRequest patch(String path, String body) {
+		return HttpRequest.newBuilder(uri(path))
+				.header("Content-Type", "application/json")
+				.method("PATCH", HttpRequest.BodyPublishers.ofString(body))
+				.build();
+	}
+	
+	private URI uri(String path) {
+		return URI.create("http://localhost:" + port + path);
+	}
+}
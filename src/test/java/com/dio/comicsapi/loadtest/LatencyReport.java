@@ -0,0 +1,91 @@
+package com.dio.comicsapi.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+// Latencies are recorded in microseconds from each request's intended start, so queueing delay counts.
+public class LatencyReport {
+
+	private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+	
+	private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+	
+	private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+	
+	private final Map<String, LongAdder> rejections = new ConcurrentHashMap<>();
+	
+	public void record(String operation, long latencyNanos, int status) {
+		histograms.computeIfAbsent(operation, key -> new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3))
+				.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+		if (status >= 500 || status < 0) {
+			errors.computeIfAbsent(operation, key -> new LongAdder()).increment();
+		} else if (status >= 400) {
+			rejections.computeIfAbsent(operation, key -> new LongAdder()).increment();
+		}
+	}
+	
+	public void reset() {
+		histograms.clear();
+		errors.clear();
+		rejections.clear();
+	}
+	
+	public Histogram histogram(String operation) {
+		return histograms.get(operation);
+	}
+	
+	public Histogram total() {
+		Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+		histograms.values().forEach(total::add);
+		return total;
+	}
+	
+	public long errorCount() {
+		return errors.values().stream().mapToLong(LongAdder::sum).sum();
+	}
+	
+	public String format(double elapsedSeconds) {
+		StringBuilder report = new StringBuilder();
+		report.append(String.format("%-10s %9s %9s %9s %9s %9s %9s %7s %7s%n",
+				"operation", "count", "ops/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "4xx", "errors"));
+		List<String> operations = new ArrayList<>(new TreeMap<>(histograms).keySet());
+		for (String operation : operations) {
+			appendLine(report, operation, histograms.get(operation), elapsedSeconds);
+		}
+		appendLine(report, "total", total(), elapsedSeconds);
+		return report.toString();
+	}
+	
+	private void appendLine(StringBuilder report, String operation, Histogram histogram, double elapsedSeconds) {
+		report.append(String.format("%-10s %9d %9.0f %9.2f %9.2f %9.2f %9.2f %7d %7d%n",
+				operation,
+				histogram.getTotalCount(),
+				histogram.getTotalCount() / elapsedSeconds,
+				millis(histogram.getValueAtPercentile(50)),
+				millis(histogram.getValueAtPercentile(99)),
+				millis(histogram.getValueAtPercentile(99.9)),
+				millis(histogram.getMaxValue()),
+				count(rejections, operation),
+				count(errors, operation)));
+	}
+	
+	private long count(Map<String, LongAdder> counters, String operation) {
+		if ("total".equals(operation)) {
+			return counters.values().stream().mapToLong(LongAdder::sum).sum();
+		}
+		LongAdder counter = counters.get(operation);
+		return counter != null ? counter.sum() : 0;
+	}
+	
+	public static double millis(long micros) {
+		return micros / 1_000.0;
+	}
+}
@@ -0,0 +1,40 @@
+package com.dio.comicsapi.loadtest;
+
+import java.time.Duration;
+
+import lombok.Getter;
+
+// Every setting can be overridden with -Dloadtest.<name>=<value>, e.g. mvn -Pload-test test -Dloadtest.rate=2000
+@Getter
+public class LoadTestSettings {
+
+	private final int catalogSize = Integer.getInteger("loadtest.catalog", 10_000);
+	
+	private final int ratePerSecond = Integer.getInteger("loadtest.rate", 500);
+	
+	private final Duration warmup = Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 10));
+	
+	private final Duration duration = Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 30));
+	
+	private final double zipfExponent = Double.parseDouble(System.getProperty("loadtest.zipf", "1.1"));
+	
+	private final int readWeight = Integer.getInteger("loadtest.weight.read", 70);
+	
+	private final int listWeight = Integer.getInteger("loadtest.weight.list", 1);
+	
+	private final int incrementWeight = Integer.getInteger("loadtest.weight.increment", 12);
+	
+	private final int decrementWeight = Integer.getInteger("loadtest.weight.decrement", 12);
+	
+	private final int createWeight = Integer.getInteger("loadtest.weight.create", 5);
+	
+	private final long sloP50Millis = Long.getLong("loadtest.slo.p50-ms", 10);
+	
+	private final long sloP99Millis = Long.getLong("loadtest.slo.p99-ms", 50);
+	
+	private final long sloP999Millis = Long.getLong("loadtest.slo.p999-ms", 200);
+	
+	private final long sloListP99Millis = Long.getLong("loadtest.slo.list-p99-ms", 1_000);
+	
+	private final double sloMaxErrorRate = Double.parseDouble(System.getProperty("loadtest.slo.max-error-rate", "0.001"));
+}
@@ -0,0 +1,27 @@
+package com.dio.comicsapi.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Rank 0 is the hottest item; sampling is a binary search over the precomputed CDF.
+public class ZipfDistribution {
+
+	private final double[] cumulative;
+	
+	public ZipfDistribution(int items, double exponent) {
+		cumulative = new double[items];
+		double sum = 0;
+		for (int rank = 0; rank < items; rank++) {
+			sum += 1 / Math.pow(rank + 1, exponent);
+			cumulative[rank] = sum;
+		}
+		for (int rank = 0; rank < items; rank++) {
+			cumulative[rank] /= sum;
+		}
+	}
+	
+	public int sample() {
+		int index = Arrays.binarySearch(cumulative, ThreadLocalRandom.current().nextDouble());
+		return Math.min(cumulative.length - 1, index >= 0 ? index : -index - 1);
+	}
+}
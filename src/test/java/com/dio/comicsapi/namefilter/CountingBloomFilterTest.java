@@ -0,0 +1,56 @@
+package com.dio.comicsapi.namefilter;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+import org.junit.jupiter.api.Test;
+
+public class CountingBloomFilterTest {
+
+	private static final int NAMES = 100_000;
+	
+	private static final double FALSE_POSITIVE_RATE = 0.01;
+	
+	@Test
+	void whenNamesAreAddedThenTheyAreNeverReportedAbsent() {
+		CountingBloomFilter bloomFilter = new CountingBloomFilter(NAMES, FALSE_POSITIVE_RATE);
+		
+		for (int i = 0; i < NAMES; i++) {
+			bloomFilter.add("Comic #" + i);
+		}
+		
+		for (int i = 0; i < NAMES; i++) {
+			assertThat(bloomFilter.mightContain("Comic #" + i), is(true));
+		}
+	}
+	
+	@Test
+	void whenUnknownNamesAreCheckedThenFalsePositivesStayNearTheConfiguredRate() {
+		CountingBloomFilter bloomFilter = new CountingBloomFilter(NAMES, FALSE_POSITIVE_RATE);
+		for (int i = 0; i < NAMES; i++) {
+			bloomFilter.add("Comic #" + i);
+		}
+		
+		int falsePositives = 0;
+		for (int i = 0; i < NAMES; i++) {
+			if (bloomFilter.mightContain("Unknown #" + i)) {
+				falsePositives++;
+			}
+		}
+		
+		assertThat((double) falsePositives / NAMES, is(lessThan(FALSE_POSITIVE_RATE * 2)));
+	}
+	
+	@Test
+	void whenNameIsRemovedThenItIsReportedAbsent() {
+		CountingBloomFilter bloomFilter = new CountingBloomFilter(NAMES, FALSE_POSITIVE_RATE);
+		bloomFilter.add("Spider-Man: Kraven's Last Hunt");
+		bloomFilter.add("Watchmen");
+		
+		bloomFilter.remove("Spider-Man: Kraven's Last Hunt");
+		
+		assertThat(bloomFilter.mightContain("Spider-Man: Kraven's Last Hunt"), is(false));
+		assertThat(bloomFilter.mightContain("Watchmen"), is(true));
+	}
+}
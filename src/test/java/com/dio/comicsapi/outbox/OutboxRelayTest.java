@@ -0,0 +1,101 @@
+package com.dio.comicsapi.outbox;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.dio.comicsapi.builder.ComicFixtures;
+import com.dio.comicsapi.dto.ComicDTO;
+import com.dio.comicsapi.entity.OutboxEvent;
+import com.dio.comicsapi.enums.StockEventType;
+import com.dio.comicsapi.repository.ComicRepository;
+import com.dio.comicsapi.repository.OutboxEventRepository;
+import com.dio.comicsapi.service.ComicService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@SpringBootTest(properties = {
+		"comics.outbox.relay.interval=3600000",
+		"comics.outbox.batch-size=4"
+})
+public class OutboxRelayTest {
+
+	@Autowired
+	private ComicService comicService;
+	
+	@Autowired
+	private ComicRepository comicRepository;
+	
+	@Autowired
+	private OutboxEventRepository outboxEventRepository;
+	
+	@Autowired
+	private InMemoryStockEventSink stockEventSink;
+	
+	@Autowired
+	private OutboxRelay outboxRelay;
+	
+	@Autowired
+	private MeterRegistry meterRegistry;
+	
+	@BeforeEach
+	void setUp() {
+		comicRepository.deleteAll();
+		outboxEventRepository.deleteAllInBatch();
+		stockEventSink.clear();
+	}
+	
+	@Test
+	void whenStockChangesThenEventsAreWrittenToTheOutbox() throws Exception {
+		ComicDTO createdComicDTO = comicService.createComic(ComicFixtures.newComic());
+		
+		comicService.increment(createdComicDTO.getId(), 5);
+		comicService.decrement(createdComicDTO.getId(), 2);
+		comicService.deleteById(createdComicDTO.getId());
+		
+		List<StockEventType> types = outboxEventRepository.findAll().stream().map(OutboxEvent::getType).collect(Collectors.toList());
+		assertThat(types, contains(StockEventType.CREATED, StockEventType.INCREMENTED, StockEventType.DECREMENTED, StockEventType.DELETED));
+	}
+	
+	@Test
+	void whenRelayRunsThenEventsArePublishedInOrderAndRemoved() throws Exception {
+		ComicDTO createdComicDTO = comicService.createComic(ComicFixtures.newComic());
+		for (int i = 0; i < 4; i++) {
+			comicService.increment(createdComicDTO.getId(), 1);
+			comicService.decrement(createdComicDTO.getId(), 1);
+		}
+		double relayedBefore = meterRegistry.counter("comics.outbox.relayed").count();
+		
+		int relayed = outboxRelay.relay();
+		
+		List<Integer> quantities = stockEventSink.getEvents().stream().map(OutboxEvent::getQuantityAfter).collect(Collectors.toList());
+		assertThat(relayed, is(equalTo(9)));
+		assertThat(quantities, contains(10, 11, 10, 11, 10, 11, 10, 11, 10));
+		assertThat(outboxEventRepository.count(), is(equalTo(0L)));
+		assertThat(meterRegistry.counter("comics.outbox.relayed").count() - relayedBefore, is(equalTo(9.0)));
+	}
+	
+	@Test
+	void whenSinkFailsThenEventsStayInTheOutboxForRedelivery() throws Exception {
+		comicService.createComic(ComicFixtures.newComic());
+		OutboxRelay failingRelay = new OutboxRelay(outboxEventRepository, events -> {
+			throw new IllegalStateException("sink unavailable");
+		}, 4, 1, new SimpleMeterRegistry());
+		
+		assertThat(failingRelay.relay(), is(equalTo(0)));
+		assertThat(outboxEventRepository.count(), is(equalTo(1L)));
+		
+		assertThat(outboxRelay.relay(), is(equalTo(1)));
+		assertThat(stockEventSink.getEvents().size(), is(equalTo(1)));
+	}
+}
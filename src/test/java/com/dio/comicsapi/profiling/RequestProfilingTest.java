@@ -0,0 +1,76 @@
+package com.dio.comicsapi.profiling;
+
+import static com.dio.comicsapi.utils.QueryBudget.assertAtMost;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.dio.comicsapi.builder.ComicFixtures;
+import com.dio.comicsapi.dto.ComicDTO;
+import com.dio.comicsapi.repository.ComicRepository;
+import com.dio.comicsapi.service.ComicService;
+
+@SpringBootTest(properties = "comics.profiling.enabled=true")
+@AutoConfigureMockMvc
+public class RequestProfilingTest {
+
+	private static final String COMIC_API_URL_PATH = "/api/v1/comic";
+	
+	@Autowired
+	private MockMvc mockMvc;
+	
+	@Autowired
+	private ComicService comicService;
+	
+	@Autowired
+	private ComicRepository comicRepository;
+	
+	@Autowired
+	private ProfileRecorder profileRecorder;
+	
+	@BeforeEach
+	void setUp() {
+		comicRepository.deleteAll();
+	}
+	
+	@Test
+	void whenProfiledRequestIsServedThenCostHeadersAreReturned() throws Exception {
+		ComicDTO createdComicDTO = comicService.createComic(ComicFixtures.newComic());
+		
+		mockMvc.perform(get(COMIC_API_URL_PATH + "/" + createdComicDTO.getName()))
+				.andExpect(status().isOk())
+				.andExpect(header().exists(RequestProfilingFilter.SQL_STATEMENTS_HEADER))
+				.andExpect(header().exists(RequestProfilingFilter.JDBC_TIME_HEADER))
+				.andExpect(header().exists(RequestProfilingFilter.MAPPER_TIME_HEADER))
+				.andExpect(header().exists(RequestProfilingFilter.ALLOCATED_BYTES_HEADER));
+		
+		RequestProfile lastProfile = profileRecorder.recent().get(profileRecorder.recent().size() - 1);
+		assertThat(lastProfile.getEndpoint(), is(equalTo("GET " + COMIC_API_URL_PATH + "/{name}")));
+	}
+	
+	@Test
+	void whenServiceCallsStayWithinTheirBudgetThenTheyPass() throws Exception {
+		ComicDTO createdComicDTO = assertAtMost(3, () -> comicService.createComic(ComicFixtures.newComic()));
+		
+		assertAtMost(1, () -> comicService.findByName(createdComicDTO.getName()));
+		assertAtMost(3, () -> comicService.increment(createdComicDTO.getId(), 1));
+		assertAtMost(1, () -> comicService.listAll());
+	}
+	
+	@Test
+	void whenCallExceedsItsBudgetThenTheAssertionFails() {
+		assertThrows(AssertionFailedError.class, () -> assertAtMost(0, () -> comicService.listAll()));
+	}
+}
@@ -0,0 +1,157 @@
+package com.dio.comicsapi.ratelimit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.dio.comicsapi.controller.ComicController;
+import com.dio.comicsapi.service.ComicService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class RateLimitInterceptorTest {
+
+	private static final String COMIC_API_URL_PATH = "/api/v1/comic";
+	
+	private static final String CRAWLER = "10.0.0.1";
+	
+	private static final String CART = "10.0.0.2";
+	
+	@Mock
+	private ComicService comicService;
+	
+	@InjectMocks
+	private ComicController comicController;
+	
+	private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+	
+	@Test
+	void whenClientExceedsItsBucketThenTooManyRequestsIsReturned() throws Exception {
+		RateLimitProperties rateLimitProperties = new RateLimitProperties();
+		rateLimitProperties.setClient(new RateLimitProperties.Bucket(2, 0.001));
+		MockMvc mockMvc = mockMvcWith(rateLimitProperties, new AdaptiveConcurrencyLimiter(10, 1, 10, Long.MAX_VALUE));
+		
+		mockMvc.perform(get(COMIC_API_URL_PATH).with(remoteAddress(CRAWLER))).andExpect(status().isOk());
+		mockMvc.perform(get(COMIC_API_URL_PATH).with(remoteAddress(CRAWLER))).andExpect(status().isOk());
+		mockMvc.perform(get(COMIC_API_URL_PATH).with(remoteAddress(CRAWLER)))
+				.andExpect(status().isTooManyRequests())
+				.andExpect(header().exists("Retry-After"));
+		mockMvc.perform(get(COMIC_API_URL_PATH).with(remoteAddress(CART))).andExpect(status().isOk());
+		
+		assertThat(meterRegistry.counter("comics.requests", "endpoint", "listComic", "outcome", "admitted").count(), is(equalTo(3.0)));
+		assertThat(meterRegistry.counter("comics.requests", "endpoint", "listComic", "outcome", "client_rate_limited").count(), is(equalTo(1.0)));
+	}
+	
+	@Test
+	void whenClientRotatesItsIdHeaderThenItIsStillLimited() throws Exception {
+		RateLimitProperties rateLimitProperties = new RateLimitProperties();
+		rateLimitProperties.setClient(new RateLimitProperties.Bucket(1, 0.001));
+		MockMvc mockMvc = mockMvcWith(rateLimitProperties, new AdaptiveConcurrencyLimiter(10, 1, 10, Long.MAX_VALUE));
+		
+		mockMvc.perform(get(COMIC_API_URL_PATH).with(remoteAddress(CRAWLER)).header("X-Client-Id", "a")).andExpect(status().isOk());
+		mockMvc.perform(get(COMIC_API_URL_PATH).with(remoteAddress(CRAWLER)).header("X-Client-Id", "b"))
+				.andExpect(status().isTooManyRequests());
+	}
+	
+	@Test
+	void whenOneClientExhaustsAnEndpointThenOtherClientsCanStillCallIt() throws Exception {
+		RateLimitProperties rateLimitProperties = new RateLimitProperties();
+		rateLimitProperties.getEndpoints().put("listComic", new RateLimitProperties.Bucket(2, 0.001));
+		MockMvc mockMvc = mockMvcWith(rateLimitProperties, new AdaptiveConcurrencyLimiter(10, 1, 10, Long.MAX_VALUE));
+		
+		mockMvc.perform(get(COMIC_API_URL_PATH).with(remoteAddress(CRAWLER))).andExpect(status().isOk());
+		mockMvc.perform(get(COMIC_API_URL_PATH).with(remoteAddress(CRAWLER))).andExpect(status().isOk());
+		for (int i = 0; i < 5; i++) {
+			mockMvc.perform(get(COMIC_API_URL_PATH).with(remoteAddress(CRAWLER))).andExpect(status().isTooManyRequests());
+		}
+		
+		mockMvc.perform(get(COMIC_API_URL_PATH).with(remoteAddress(CART))).andExpect(status().isOk());
+		mockMvc.perform(get(COMIC_API_URL_PATH).with(remoteAddress(CART))).andExpect(status().isOk());
+		assertThat(meterRegistry.counter("comics.requests", "endpoint", "listComic", "outcome", "endpoint_rate_limited").count(), is(equalTo(5.0)));
+	}
+	
+	@Test
+	void whenEndpointBucketIsEmptyThenTooManyRequestsIsReturnedBeforeTheService() throws Exception {
+		RateLimitProperties rateLimitProperties = new RateLimitProperties();
+		rateLimitProperties.getEndpoints().put("listComic", new RateLimitProperties.Bucket(0, 0.001));
+		MockMvc mockMvc = mockMvcWith(rateLimitProperties, new AdaptiveConcurrencyLimiter(10, 1, 10, Long.MAX_VALUE));
+		
+		mockMvc.perform(get(COMIC_API_URL_PATH)).andExpect(status().isTooManyRequests());
+		
+		verifyNoInteractions(comicService);
+	}
+	
+	@Test
+	void whenConcurrencyLimitIsReachedThenServiceUnavailableIsReturned() throws Exception {
+		AdaptiveConcurrencyLimiter concurrencyLimiter = new AdaptiveConcurrencyLimiter(1, 1, 1, Long.MAX_VALUE);
+		concurrencyLimiter.tryAcquire();
+		MockMvc mockMvc = mockMvcWith(new RateLimitProperties(), concurrencyLimiter);
+		
+		mockMvc.perform(get(COMIC_API_URL_PATH)).andExpect(status().isServiceUnavailable());
+		
+		verifyNoInteractions(comicService);
+		assertThat(meterRegistry.counter("comics.requests", "endpoint", "listComic", "outcome", "shed").count(), is(equalTo(1.0)));
+	}
+	
+	@Test
+	void whenCallsAreSlowerThanTargetThenConcurrencyLimitShrinks() {
+		AdaptiveConcurrencyLimiter concurrencyLimiter = new AdaptiveConcurrencyLimiter(20, 4, 200, TimeUnit.MILLISECONDS.toNanos(100));
+		
+		for (int i = 0; i < 5; i++) {
+			concurrencyLimiter.tryAcquire();
+			concurrencyLimiter.release(TimeUnit.SECONDS.toNanos(1));
+		}
+		
+		assertThat(concurrencyLimiter.getLimit(), is(lessThan(20)));
+		assertThat(concurrencyLimiter.getInFlight(), is(equalTo(0)));
+	}
+	
+	@Test
+	void whenABurstOfCallsIsSlowThenConcurrencyLimitBacksOffOncePerWindow() {
+		AdaptiveConcurrencyLimiter concurrencyLimiter = new AdaptiveConcurrencyLimiter(20, 4, 200, TimeUnit.MILLISECONDS.toNanos(100));
+		long now = System.nanoTime();
+		
+		for (int i = 0; i < 10; i++) {
+			concurrencyLimiter.tryAcquire();
+		}
+		for (int i = 0; i < 10; i++) {
+			concurrencyLimiter.release(TimeUnit.SECONDS.toNanos(1), now);
+		}
+		assertThat(concurrencyLimiter.getLimit(), is(equalTo(18)));
+		
+		concurrencyLimiter.tryAcquire();
+		concurrencyLimiter.release(TimeUnit.SECONDS.toNanos(1), now + TimeUnit.SECONDS.toNanos(2));
+		assertThat(concurrencyLimiter.getLimit(), is(equalTo(16)));
+	}
+	
+	private static RequestPostProcessor remoteAddress(String address) {
+		return request -> {
+			request.setRemoteAddr(address);
+			return request;
+		};
+	}
+	
+	private MockMvc mockMvcWith(RateLimitProperties rateLimitProperties, AdaptiveConcurrencyLimiter concurrencyLimiter) {
+		return MockMvcBuilders.standaloneSetup(comicController)
+				.addMappedInterceptors(new String[] { "/api/**" }, new RateLimitInterceptor(rateLimitProperties, concurrencyLimiter, meterRegistry))
+				.build();
+	}
+}
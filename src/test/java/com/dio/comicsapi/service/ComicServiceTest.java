@@ -11,8 +11,10 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -24,17 +26,26 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.dio.comicsapi.builder.ComicDTOBuilder;
 import com.dio.comicsapi.dto.ComicDTO;
+import com.dio.comicsapi.dto.ComicLookupResultDTO;
 import com.dio.comicsapi.entity.Comic;
 import com.dio.comicsapi.exceptions.ComicAlreadyRegisteredException;
 import com.dio.comicsapi.exceptions.ComicNotFoundException;
 import com.dio.comicsapi.exceptions.ComicStockExceededException;
 import com.dio.comicsapi.exceptions.ComicWithInsufficientStockException;
+import com.dio.comicsapi.index.ComicIdIndex;
+import com.dio.comicsapi.index.ComicIdIndexProperties;
 import com.dio.comicsapi.mapper.ComicMapper;
+import com.dio.comicsapi.namefilter.ComicNameFilter;
+import com.dio.comicsapi.namefilter.ComicNameFilterProperties;
 import com.dio.comicsapi.repository.ComicRepository;
+import com.dio.comicsapi.repository.OutboxEventRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 
 
@@ -46,6 +57,15 @@ public class ComicServiceTest {
 	@Mock
 	private ComicRepository comicRepository;
 	
+	@Mock
+	private OutboxEventRepository outboxEventRepository;
+	
+	@Spy
+	private ComicNameFilter comicNameFilter = new ComicNameFilter(new ComicNameFilterProperties(), new SimpleMeterRegistry());
+	
+	@Spy
+	private ComicIdIndex comicIdIndex = new ComicIdIndex(new ComicIdIndexProperties(), new SimpleMeterRegistry());
+	
 	private ComicMapper comicMapper = ComicMapper.INSTANCE;
 	
 	@InjectMocks
@@ -108,6 +128,43 @@ public class ComicServiceTest {
 	    assertThrows(ComicNotFoundException.class, () -> comicService.findByName(expectedFoundComicDTO.getName()));
 	 }
 	 
+	 @Test
+	 void whenNameFilterRulesOutANameThenTheRepositoryIsNotQueried() {
+	    // given
+	    ComicDTO expectedFoundComicDTO = ComicDTOBuilder.builder().build().toComicsDTO();
+
+	    // when
+	    comicNameFilter.rebuild(Collections.emptyList());
+
+	    // then
+	    assertThrows(ComicNotFoundException.class, () -> comicService.findByName(expectedFoundComicDTO.getName()));
+	    verifyNoInteractions(comicRepository);
+	 }
+	 
+	 @Test
+	 void whenIdIndexMissesThenTheRepositoryIsNotQueried() {
+	    // when
+	    comicIdIndex.rebuild(Collections.emptyList());
+
+	    // then
+	    assertThrows(ComicNotFoundException.class, () -> comicService.increment(INVALID_COMIC_ID, 10));
+	    verifyNoInteractions(comicRepository);
+	 }
+	 
+	 @Test
+	 void whenIndexedStockCannotTakeTheIncrementThenTheComicIsNotLoaded() {
+	    // given
+	    ComicDTO expectedComicDTO = ComicDTOBuilder.builder().build().toComicsDTO();
+
+	    // when
+	    comicIdIndex.rebuild(Collections.emptyList());
+	    comicIdIndex.put(expectedComicDTO.getId(), expectedComicDTO.getMax() - 1, expectedComicDTO.getMax(), 0);
+
+	    // then
+	    assertThrows(ComicStockExceededException.class, () -> comicService.increment(expectedComicDTO.getId(), 5));
+	    verifyNoInteractions(comicRepository);
+	 }
+	 
 	 @Test
 	 void whenListComicIsCalledThenReturnAListOfComics() {
 	    // given
@@ -124,6 +181,29 @@ public class ComicServiceTest {
 	    assertThat(foundListComicDTO.get(0), is(equalTo(expectedFoundComicDTO)));
 	    }
 	 
+	 @Test
+	 void whenComicsAreLookedUpByIdAndNameThenFoundAndMissingKeysAreReturned() {
+	    // given
+	    ComicDTO expectedFoundComicDTO = ComicDTOBuilder.builder().build().toComicsDTO();
+	    Comic expectedFoundComic = comicMapper.toModel(expectedFoundComicDTO);
+	    String missingName = "Unknown";
+
+	    // when
+	    when(comicRepository.findAllCachedById(Arrays.asList(expectedFoundComicDTO.getId(), INVALID_COMIC_ID + 1)))
+	    		.thenReturn(Collections.singletonList(expectedFoundComic));
+	    when(comicRepository.findByNameIn(Arrays.asList(expectedFoundComicDTO.getName(), missingName)))
+	    		.thenReturn(Collections.singletonList(expectedFoundComic));
+
+	    // then
+	    ComicLookupResultDTO result = comicService.findAll(
+	    		Arrays.asList(expectedFoundComicDTO.getId(), INVALID_COMIC_ID + 1, expectedFoundComicDTO.getId()),
+	    		Arrays.asList(expectedFoundComicDTO.getName(), missingName));
+
+	    assertThat(result.getComics(), is(equalTo(Collections.singletonList(expectedFoundComicDTO))));
+	    assertThat(result.getMissingIds(), is(equalTo(Collections.singletonList(INVALID_COMIC_ID + 1))));
+	    assertThat(result.getMissingNames(), is(equalTo(Collections.singletonList(missingName))));
+	 }
+	 
 	 @Test
 	 void whenExclusionIsCalledWithValidIdThenAComicShouldBeDeleted() throws ComicNotFoundException{
 	    // given
@@ -0,0 +1,108 @@
+package com.dio.comicsapi.sharding;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.dio.comicsapi.ComicsApiApplication;
+import com.dio.comicsapi.builder.ComicFixtures;
+import com.dio.comicsapi.loadtest.LatencyReport;
+import com.dio.comicsapi.service.ComicService;
+
+// Boots one sharded context per shard count, so the only variable between runs is how many shards share the load.
+@Tag("load")
+public class ComicShardScalingTest {
+	
+	private static final Path REPORT_FILE = Paths.get("target", "shard-scaling-report.txt");
+	
+	private static final int COMICS = 1_000;
+	
+	private static final int LOOKUPS_PER_WORKER = 5_000;
+	
+	private static final int WORKERS = 8;
+	
+	@BeforeAll
+	static void clearReport() throws Exception {
+		Files.deleteIfExists(REPORT_FILE);
+	}
+	
+	@ParameterizedTest
+	@ValueSource(ints = {1, 2, 4})
+	void whenLookupsRunAgainstShardsThenThroughputIsReported(int shardCount) throws Exception {
+		try (ConfigurableApplicationContext context = shardedContext(shardCount)) {
+			ComicService comicService = context.getBean(ComicService.class);
+			ComicFixtures.seed(comicService, COMICS);
+			
+			LatencyReport report = new LatencyReport();
+			ExecutorService workers = Executors.newFixedThreadPool(WORKERS);
+			long start = System.nanoTime();
+			try {
+				List<Future<?>> results = new ArrayList<>();
+				for (int worker = 0; worker < WORKERS; worker++) {
+					int offset = worker;
+					results.add(workers.submit(() -> lookUp(comicService, report, offset)));
+				}
+				for (Future<?> result : results) {
+					result.get();
+				}
+			} finally {
+				workers.shutdownNow();
+			}
+			double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+			
+			String formatted = String.format("%d shard(s), %d workers%n%s%n", shardCount, WORKERS, report.format(elapsedSeconds));
+			Files.createDirectories(REPORT_FILE.getParent());
+			Files.write(REPORT_FILE, formatted.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+			
+			assertThat(report.errorCount(), is(equalTo(0L)));
+			assertThat(report.total().getTotalCount(), is(equalTo((long) WORKERS * LOOKUPS_PER_WORKER)));
+		}
+	}
+	
+	private void lookUp(ComicService comicService, LatencyReport report, int offset) {
+		for (int i = 0; i < LOOKUPS_PER_WORKER; i++) {
+			long start = System.nanoTime();
+			int status = 200;
+			try {
+				comicService.findByName(ComicFixtures.comicName((offset + i * WORKERS) % COMICS));
+			} catch (Exception e) {
+				status = 500;
+			}
+			report.record("findByName", System.nanoTime() - start, status);
+		}
+	}
+	
+	// Command-line arguments replace the whole url list from application-sharded.properties, and the second-level
+	// cache is off so every lookup reaches a shard.
+	private ConfigurableApplicationContext shardedContext(int shardCount) {
+		List<String> args = new ArrayList<>();
+		for (int shard = 0; shard < shardCount; shard++) {
+			args.add(String.format("--comics.sharding.urls[%d]=jdbc:h2:mem:scaling-%d-of-%d;DB_CLOSE_DELAY=-1", shard, shard, shardCount));
+		}
+		args.add("--spring.jpa.properties.hibernate.cache.use_second_level_cache=false");
+		args.add("--spring.jpa.properties.hibernate.cache.use_query_cache=false");
+		return new SpringApplicationBuilder(ComicsApiApplication.class)
+				.profiles("sharded")
+				.web(WebApplicationType.NONE)
+				.run(args.toArray(new String[0]));
+	}
+}
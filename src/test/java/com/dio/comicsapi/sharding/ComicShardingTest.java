@@ -0,0 +1,172 @@
+package com.dio.comicsapi.sharding;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.dio.comicsapi.builder.ComicFixtures;
+import com.dio.comicsapi.dto.ComicDTO;
+import com.dio.comicsapi.dto.ComicLookupResultDTO;
+import com.dio.comicsapi.exceptions.ComicAlreadyRegisteredException;
+import com.dio.comicsapi.entity.Comic;
+import com.dio.comicsapi.enums.Publisher;
+import com.dio.comicsapi.exceptions.ComicNotFoundException;
+import com.dio.comicsapi.repository.ComicRepository;
+import com.dio.comicsapi.service.ComicService;
+
+@SpringBootTest
+@ActiveProfiles("sharded")
+public class ComicShardingTest {
+
+	private static final int COMICS_TO_CREATE = 40;
+	
+	@Autowired
+	private ComicService comicService;
+	
+	@Autowired
+	private ComicRepository comicRepository;
+	
+	@Autowired
+	private DataSource dataSource;
+	
+	@Autowired
+	private ShardRouter shardRouter;
+	
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	
+	@BeforeEach
+	void setUp() {
+		for (DataSource shard : shards().values()) {
+			new JdbcTemplate(shard).execute("DELETE FROM comic");
+		}
+		entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+	}
+	
+	@Test
+	void whenComicsAreCreatedThenTheyAreSpreadAcrossAllShards() throws ComicAlreadyRegisteredException {
+		ComicFixtures.seed(comicService, COMICS_TO_CREATE);
+		
+		int total = 0;
+		for (DataSource shard : shards().values()) {
+			int rows = new JdbcTemplate(shard).queryForObject("SELECT COUNT(*) FROM comic", Integer.class);
+			assertThat(rows, is(greaterThan(0)));
+			total += rows;
+		}
+		assertThat(total, is(equalTo(COMICS_TO_CREATE)));
+		assertThat(comicService.listAll().size(), is(equalTo(COMICS_TO_CREATE)));
+	}
+	
+	@Test
+	void whenComicsAreSavedInBulkThenEachIsInsertedOnlyOnItsOwnShard() {
+		List<Comic> comics = new ArrayList<>();
+		for (int i = 0; i < COMICS_TO_CREATE; i++) {
+			comics.add(new Comic(null, ComicFixtures.comicName(i), "Author", 20, 10, Publisher.DC));
+		}
+		
+		List<Comic> savedComics = comicRepository.saveAll(comics);
+		
+		int total = 0;
+		for (DataSource shard : shards().values()) {
+			total += new JdbcTemplate(shard).queryForObject("SELECT COUNT(*) FROM comic", Integer.class);
+		}
+		assertThat(total, is(equalTo(COMICS_TO_CREATE)));
+		for (Comic savedComic : savedComics) {
+			assertThat(shardRouter.shardForId(savedComic.getId()), is(equalTo(shardRouter.shardForName(savedComic.getName()))));
+		}
+	}
+	
+	@Test
+	void whenResultsCannotBeMergedAcrossShardsThenTheCallFails() {
+		assertThrows(IllegalStateException.class, () -> comicRepository.findAll(PageRequest.of(0, 10)));
+	}
+	
+	@Test
+	void whenComicIsCreatedThenItsIdAndNameRouteToTheSameShard() throws ComicAlreadyRegisteredException {
+		ComicDTO createdComicDTO = comicService.createComic(ComicFixtures.newComic());
+		
+		assertThat(shardRouter.shardForId(createdComicDTO.getId()), is(equalTo(shardRouter.shardForName(createdComicDTO.getName()))));
+	}
+	
+	@Test
+	void whenAlreadyRegisteredNameIsCreatedOnShardsThenAnExceptionShouldBeThrown() throws ComicAlreadyRegisteredException {
+		ComicDTO comicDTO = ComicFixtures.newComic();
+		comicService.createComic(comicDTO);
+		
+		assertThrows(ComicAlreadyRegisteredException.class, () -> comicService.createComic(comicDTO));
+	}
+	
+	@Test
+	void whenClientSendsAnIdThenCreateStillRoutesByName() throws Exception {
+		ComicDTO comicDTO = ComicFixtures.newComic();
+		int nameShard = shardRouter.shardForName(comicDTO.getName());
+		long foreignId = 1;
+		while (shardRouter.shardForId(foreignId) == nameShard) {
+			foreignId++;
+		}
+		comicDTO.setId(foreignId);
+		comicService.createComic(comicDTO);
+		
+		comicDTO.setId(foreignId + 1);
+		assertThrows(ComicAlreadyRegisteredException.class, () -> comicService.createComic(comicDTO));
+		assertThat(shardRouter.shardForId(comicService.findByName(comicDTO.getName()).getId()), is(equalTo(nameShard)));
+	}
+	
+	@Test
+	void whenStockIsChangedByIdThenTheOwningShardIsUpdated() throws Exception {
+		ComicFixtures.seed(comicService, COMICS_TO_CREATE);
+		
+		for (ComicDTO comicDTO : comicService.listAll()) {
+			comicService.increment(comicDTO.getId(), 5);
+			assertThat(comicService.findByName(comicDTO.getName()).getQuantity(), is(equalTo(comicDTO.getQuantity() + 5)));
+		}
+	}
+	
+	@Test
+	void whenComicIsDeletedThenItIsRemovedFromItsShard() throws Exception {
+		ComicDTO createdComicDTO = comicService.createComic(ComicFixtures.newComic());
+		
+		comicService.deleteById(createdComicDTO.getId());
+		
+		assertThrows(ComicNotFoundException.class, () -> comicService.findByName(createdComicDTO.getName()));
+	}
+	
+	@Test
+	void whenComicsAreLookedUpInBulkThenEveryShardIsSearched() throws ComicAlreadyRegisteredException {
+		ComicFixtures.seed(comicService, 20);
+		List<ComicDTO> createdComics = comicService.listAll();
+		List<Long> ids = createdComics.stream().map(ComicDTO::getId).collect(Collectors.toList());
+		List<String> names = new ArrayList<>(createdComics.stream().map(ComicDTO::getName).collect(Collectors.toList()));
+		names.add("Not in any shard");
+		
+		ComicLookupResultDTO result = comicService.findAll(ids, names);
+		
+		assertThat(result.getComics().size(), is(equalTo(20)));
+		assertThat(result.getMissingIds().isEmpty(), is(true));
+		assertThat(result.getMissingNames(), is(equalTo(Collections.singletonList("Not in any shard"))));
+	}
+	
+	private Map<Object, DataSource> shards() {
+		return ((ShardRoutingDataSource) dataSource).getResolvedDataSources();
+	}
+}
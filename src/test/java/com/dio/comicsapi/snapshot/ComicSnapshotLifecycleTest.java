@@ -0,0 +1,62 @@
+package com.dio.comicsapi.snapshot;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.dio.comicsapi.ComicsApiApplication;
+import com.dio.comicsapi.builder.ComicFixtures;
+import com.dio.comicsapi.dto.ComicDTO;
+import com.dio.comicsapi.index.ComicIdIndex;
+import com.dio.comicsapi.namefilter.ComicNameFilter;
+import com.dio.comicsapi.repository.ComicRepository;
+import com.dio.comicsapi.service.ComicService;
+
+// Two contexts on separate in-memory databases: the first writes the snapshot, the second restores it on startup.
+public class ComicSnapshotLifecycleTest {
+	
+	@TempDir
+	Path snapshotDirectory;
+	
+	@Test
+	void whenSnapshotExistsAtStartupThenRowsAndLookupsAreRestored() throws Exception {
+		Path snapshot = snapshotDirectory.resolve("comics.snapshot");
+		List<ComicDTO> savedComics;
+		try (ConfigurableApplicationContext source = context("snapshot-source", snapshot, false)) {
+			savedComics = ComicFixtures.seed(source.getBean(ComicService.class), 20);
+			source.getBean(ComicSnapshotService.class).save(snapshot);
+		}
+		
+		try (ConfigurableApplicationContext restored = context("snapshot-target", snapshot, true)) {
+			ComicNameFilter comicNameFilter = restored.getBean(ComicNameFilter.class);
+			ComicIdIndex comicIdIndex = restored.getBean(ComicIdIndex.class);
+			
+			assertThat(restored.getBean(ComicRepository.class).count(), is(equalTo((long) savedComics.size())));
+			assertThat(comicIdIndex.isBuilt(), is(true));
+			for (ComicDTO savedComic : savedComics) {
+				assertThat(comicNameFilter.mightContain(savedComic.getName()), is(true));
+				assertThat(comicIdIndex.mightExist(savedComic.getId()), is(true));
+				assertThat(comicIdIndex.quantity(savedComic.getId()), is(equalTo((long) savedComic.getQuantity())));
+			}
+		}
+	}
+	
+	private ConfigurableApplicationContext context(String database, Path snapshot, boolean restoreOnStartup) {
+		return new SpringApplicationBuilder(ComicsApiApplication.class)
+				.web(WebApplicationType.NONE)
+				.run("--spring.datasource.url=jdbc:h2:mem:" + database,
+						"--comics.snapshot.enabled=true",
+						"--comics.snapshot.file=" + snapshot,
+						"--comics.snapshot.restore-on-startup=" + restoreOnStartup,
+						"--comics.snapshot.save-on-shutdown=false");
+	}
+}
@@ -0,0 +1,83 @@
+package com.dio.comicsapi.snapshot;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.dio.comicsapi.builder.ComicFixtures;
+import com.dio.comicsapi.dto.ComicDTO;
+import com.dio.comicsapi.repository.ComicRepository;
+import com.dio.comicsapi.service.ComicService;
+
+@SpringBootTest(properties = {
+		"comics.snapshot.enabled=true",
+		"comics.snapshot.restore-on-startup=false",
+		"comics.snapshot.save-on-shutdown=false",
+		"comics.snapshot.block-rows=64"
+})
+public class ComicSnapshotServiceTest {
+
+	@Autowired
+	private ComicSnapshotService comicSnapshotService;
+	
+	@Autowired
+	private ComicService comicService;
+	
+	@Autowired
+	private ComicRepository comicRepository;
+	
+	@TempDir
+	Path snapshotDirectory;
+	
+	@BeforeEach
+	void setUp() {
+		comicRepository.deleteAll();
+	}
+	
+	@Test
+	void whenSnapshotIsRestoredThenTheCatalogMatchesTheSavedOne() throws Exception {
+		List<ComicDTO> savedComics = ComicFixtures.seed(comicService, 200);
+		Path snapshot = snapshotDirectory.resolve("comics.snapshot");
+		
+		assertThat(comicSnapshotService.save(snapshot), is(equalTo(200L)));
+		comicRepository.deleteAllInBatch();
+		assertThat(comicSnapshotService.restore(snapshot), is(equalTo(200L)));
+		
+		assertThat(comicService.listAll(), containsInAnyOrder(savedComics.toArray()));
+		assertThat(comicService.findByName(savedComics.get(42).getName()), is(equalTo(savedComics.get(42))));
+	}
+	
+	@Test
+	void whenComicIsCreatedAfterRestoreThenItGetsAFreshId() throws Exception {
+		List<ComicDTO> savedComics = ComicFixtures.seed(comicService, 10);
+		Path snapshot = snapshotDirectory.resolve("comics.snapshot");
+		comicSnapshotService.save(snapshot);
+		comicRepository.deleteAllInBatch();
+		comicSnapshotService.restore(snapshot);
+		
+		ComicDTO createdComicDTO = comicService.createComic(ComicFixtures.newComic("After restore"));
+		
+		assertThat(createdComicDTO.getId(), is(greaterThan(savedComics.get(savedComics.size() - 1).getId())));
+	}
+	
+	@Test
+	void whenTableIsNotEmptyThenRestoreIsSkipped() throws Exception {
+		ComicFixtures.seed(comicService, 5);
+		Path snapshot = snapshotDirectory.resolve("comics.snapshot");
+		comicSnapshotService.save(snapshot);
+		
+		assertThat(comicSnapshotService.restore(snapshot), is(equalTo(0L)));
+		assertThat(comicRepository.count(), is(equalTo(5L)));
+	}
+}
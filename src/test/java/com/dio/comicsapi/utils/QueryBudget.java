@@ -0,0 +1,24 @@
+package com.dio.comicsapi.utils;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+import com.dio.comicsapi.diagnostics.StatementCounter;
+
+public class QueryBudget {
+	
+	@FunctionalInterface
+	public interface Call<T> {
+		T run() throws Exception;
+	}
+	
+	// Fails when the call prepares more SQL statements than allowed on the calling thread.
+	public static <T> T assertAtMost(int maxStatements, Call<T> call) throws Exception {
+		StatementCounter.reset();
+		T result = call.run();
+		int statements = StatementCounter.current();
+		if (statements > maxStatements) {
+			fail(String.format("Expected at most %d SQL statements but %d were executed", maxStatements, statements));
+		}
+		return result;
+	}
+}
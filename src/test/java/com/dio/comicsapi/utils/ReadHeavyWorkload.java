@@ -0,0 +1,31 @@
+package com.dio.comicsapi.utils;
+
+import java.util.List;
+
+import com.dio.comicsapi.dto.ComicDTO;
+import com.dio.comicsapi.service.ComicService;
+
+public class ReadHeavyWorkload {
+	
+	// 90% reads by name, 10% paired increment/decrement of the same comic.
+	public static void run(ComicService comicService, List<ComicDTO> comics, int operations) throws Exception {
+		for (int i = 0; i < operations; i++) {
+			ComicDTO comic = comics.get(i % comics.size());
+			switch (i % 20) {
+			case 0:
+				comicService.increment(comic.getId(), 1);
+				break;
+			case 1:
+				comicService.decrement(comics.get((i - 1) % comics.size()).getId(), 1);
+				break;
+			default:
+				comicService.findByName(comic.getName());
+			}
+		}
+	}
+	
+	// Stock changes among the first operations of run, each of which reloads its comic by id.
+	public static long writes(int operations) {
+		return operations / 20 * 2 + Math.min(operations % 20, 2);
+	}
+}